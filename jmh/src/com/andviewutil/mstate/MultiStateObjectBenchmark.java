@@ -0,0 +1,121 @@
+//	LICENSE:
+//	MultiStateObjectBenchmark.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.andviewutil.reactive.Subscriber;
+import com.andviewutil.reactive.Subscription;
+import com.andviewutil.timer.ManualScheduler;
+
+/**
+ * Full touch cycles of a MultiStateObject with two states, with and without
+ * a subscriber of state transitions. Long clicks are
+ * reached by moving a manual scheduler past the long click delay, so no 
+ * thread is involved.
+ * @author GuillermoBlascoJimenez
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiStateObjectBenchmark {
+
+	private static final int LONG_CLICK_DELAY = 200;
+	
+	@Param({"false", "true"})
+	public boolean subscribed;
+	
+	private ManualScheduler scheduler;
+	private ToggleObject object;
+	
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		scheduler = new ManualScheduler();
+		object = new ToggleObject();
+		object.setScheduler(scheduler);
+		object.setLongClickDelay(LONG_CLICK_DELAY);
+		if(subscribed)
+			object.getStatePublisher().subscribe(new DemandingSubscriber(blackhole));
+	}
+	@Benchmark
+	public int click() {
+		object.performActionDown();
+		object.performActionUp();
+		return object.getCurrentState();
+	}
+	@Benchmark
+	public int longClick() {
+		object.performActionDown();
+		scheduler.advanceBy(LONG_CLICK_DELAY);
+		object.performActionUp();
+		return object.getCurrentState();
+	}
+	@Benchmark
+	public int cancelledClick() {
+		object.performActionDown();
+		object.performActionCancel();
+		return object.getCurrentState();
+	}
+	
+	/*
+	 * Consumes every state transition.
+	 */
+	private static class DemandingSubscriber implements Subscriber<Integer> {
+		private final Blackhole blackhole;
+		
+		DemandingSubscriber(Blackhole blackhole){
+			this.blackhole = blackhole;
+		}
+		public void onSubscribe(Subscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+		}
+		public void onNext(Integer item) {
+			blackhole.consume(item);
+		}
+		public void onError(Throwable throwable) {}
+		public void onComplete() {}
+	}
+	/*
+	 * Clicks toggle between states 0 and 1, long clicks go to state 0.
+	 */
+	private static class ToggleObject extends MultiStateObject<Object> {
+		ToggleObject(){
+			super(null, 0);
+		}
+		@Override
+		protected void actualizeOnState(Object target, int state) {}
+		@Override
+		protected int actualizeState(Object target, int last_state, boolean long_click) {
+			return long_click ? 0 : 1 - last_state;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+//	LICENSE:
+//	NumberPickerBenchmark.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * Formatting of the shown text of a NumberPicker and a FixedPointPicker.
+ * The stand-in TextView keeps the chars it is given without copying them,
+ * so only the formatting of the picker is measured.
+ * @author GuillermoBlascoJimenez
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberPickerBenchmark {
+
+	@Param({"99", "999999"})
+	public int max;
+	
+	private NumberPicker number;
+	private FixedPointPicker fixed_point;
+	private int next = 0;
+	
+	@Setup
+	public void setUp() {
+		number = new NumberPicker(new View(), new View(), new TextView());
+		number.setBounds(-max, max);
+		fixed_point = new FixedPointPicker(new View(), new View(), new TextView());
+		fixed_point.setRange(-max, max, 1);
+		fixed_point.setScale(2);
+	}
+	@Benchmark
+	public int actualizeNumber() {
+		number.check(next++ % max);
+		number.actualize();
+		return number.getIndex();
+	}
+	@Benchmark
+	public int actualizeFixedPoint() {
+		fixed_point.check(next++ % max);
+		fixed_point.actualize();
+		return fixed_point.getIndex();
+	}
+}
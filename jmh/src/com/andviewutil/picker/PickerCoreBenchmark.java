@@ -0,0 +1,129 @@
+//	LICENSE:
+//	PickerCoreBenchmark.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Index checks and clicks of a headless picker of 100 indices. Clicks are
+ * measured with 0, 1 and 10 listeners; the picker is cyclic on clicks so
+ * every click changes the index.
+ * @author GuillermoBlascoJimenez
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PickerCoreBenchmark {
+
+	/*values checked, most of them out of [0, 99]*/
+	private static final int[] VALUES = new int[1024];
+	static{
+		for(int i = 0; i < VALUES.length; i++)
+			VALUES[i] = (i * 7919) % 400 - 150;
+	}
+	
+	/**
+	 * Picker whose index is checked, cyclic or clamped.
+	 */
+	@State(Scope.Thread)
+	public static class CheckState {
+		@Param({"true", "false"})
+		public boolean cyclic;
+		
+		PickerCore picker;
+		int next = 0;
+		
+		@Setup
+		public void setUp() {
+			picker = new HeadlessPicker();
+			picker.setCyclic(cyclic);
+		}
+	}
+	/**
+	 * Cyclic picker clicked with a number of listeners.
+	 */
+	@State(Scope.Thread)
+	public static class ClickState {
+		@Param({"0", "1", "10"})
+		public int listeners;
+		
+		PickerCore picker;
+		
+		@Setup
+		public void setUp(Blackhole blackhole) {
+			picker = new HeadlessPicker();
+			picker.setCyclic(true);
+			for(int i = 0; i < listeners; i++)
+				picker.setOnPickerEventListener(new ConsumingListener(blackhole));
+		}
+	}
+	
+	@Benchmark
+	public boolean check(CheckState state) {
+		return state.picker.check(VALUES[state.next++ & (VALUES.length - 1)]);
+	}
+	@Benchmark
+	public int onNext(ClickState state) {
+		state.picker.onNext();
+		return state.picker.getIndex();
+	}
+	@Benchmark
+	public int onPrev(ClickState state) {
+		state.picker.onPrev();
+		return state.picker.getIndex();
+	}
+	
+	private static class HeadlessPicker extends PickerCore {
+		private static final long serialVersionUID = 13L;
+		
+		HeadlessPicker(){
+			super(new HeadlessPickerHost());
+			setMax(99);
+			setMin(0);
+		}
+		@Override
+		protected void actualize() {}
+	}
+	private static class ConsumingListener implements OnPickerEventListener {
+		private final Blackhole blackhole;
+		
+		ConsumingListener(Blackhole blackhole){
+			this.blackhole = blackhole;
+		}
+		public void onElementPicked(int index, Cause cause) {
+			blackhole.consume(index);
+			blackhole.consume(cause);
+		}
+		public void onActualize(int index) {
+			blackhole.consume(index);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+//	LICENSE:
+//	PickerTextBenchmark.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * Edits of a PickerText on arrays of 10 to 1,000,000 elements. The index
+ * of display strings is built on setup, so only lookups are measured.
+ * @author GuillermoBlascoJimenez
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PickerTextBenchmark {
+
+	/*number of inputs of each kind, a power of two*/
+	private static final int INPUTS = 1024;
+	
+	@Param({"10", "1000", "100000", "1000000"})
+	public int size;
+	
+	private PickerText picker;
+	/*whole elements, prefixes of elements and strings matching none*/
+	private String[] exact;
+	private String[] prefixes;
+	private String[] wrong;
+	private int next = 0;
+	
+	@Setup
+	public void setUp() {
+		Object[] elements = new Object[size];
+		for(int i = 0; i < size; i++)
+			elements[i] = "element " + i;
+		picker = new PickerText(new View(), new View(), new TextView(), elements);
+		exact = new String[INPUTS];
+		prefixes = new String[INPUTS];
+		wrong = new String[INPUTS];
+		for(int i = 0; i < INPUTS; i++){
+			int index = (int)((i * 2654435761L) % size);
+			exact[i] = "element " + index;
+			prefixes[i] = exact[i].substring(0, exact[i].length() - 1);
+			wrong[i] = "item " + index;
+		}
+		//builds the index
+		picker.onTextEdit(exact[0]);
+	}
+	@Benchmark
+	public int editExact() {
+		picker.onTextEdit(exact[next++ & (INPUTS - 1)]);
+		return picker.getIndex();
+	}
+	@Benchmark
+	public int editPrefix() {
+		picker.onTextEdit(prefixes[next++ & (INPUTS - 1)]);
+		return picker.getIndex();
+	}
+	@Benchmark
+	public int editWrong() {
+		picker.onTextEdit(wrong[next++ & (INPUTS - 1)]);
+		return picker.getIndex();
+	}
+}
@@ -0,0 +1,210 @@
+//	LICENSE:
+//	MultiStateGroup.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import java.util.ArrayList;
+
+import com.andviewutil.reactive.Subscriber;
+import com.andviewutil.reactive.Subscription;
+
+/**
+ * Group of MultiStateObjects with exclusive selection, like radio buttons or
+ * tabs. The group remembers the selected member, so selecting another one 
+ * only resets the previous one whatever the size of the group.
+ * <p>
+ * The group follows the state publisher of its members, so a member that 
+ * reaches the selected state by a touch becomes the selected member and the
+ * previous one is deselected, and a selected member that leaves the 
+ * selected state leaves the group without selection.
+ * 
+ * @param E Class of objects which state is managed by the members.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 MultiStateView
+ * @version 1.3 AndViewUtils
+ */
+public class MultiStateGroup<E> {
+
+	/** selected index when no member is selected */
+	public static final int NO_SELECTION = -1;
+	
+	// PRIVATE ATTRIBUTES
+	
+	/*members of the group, in order of addition*/
+	private final ArrayList<MultiStateObject<E>> members = new ArrayList<MultiStateObject<E>>();
+	/*state of the selected member*/
+	private final int selected_state;
+	/*state of the other members*/
+	private final int unselected_state;
+	/*index of selected member or NO_SELECTION*/
+	private int selected = NO_SELECTION;
+	/*flag to ignore member states set by the group itself on a batch*/
+	private boolean internal_change = false;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Builds an empty group.
+	 * @param selected_state State of the selected member.
+	 * @param unselected_state State given to a member when it is deselected.
+	 */
+	public MultiStateGroup(int selected_state, int unselected_state){
+		this.selected_state = selected_state;
+		this.unselected_state = unselected_state;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Adds a member to the group. Its state is not changed, if it is the 
+	 * selected state it becomes the selected member. The group subscribes
+	 * to the state publisher of the member.
+	 * @param member Member to add.
+	 * @return Index of the member.
+	 */
+	public synchronized int add(MultiStateObject<E> member){
+		members.add(member);
+		int index = members.size() - 1;
+		if(member.getLastStableState() == selected_state)
+			this.select(index);
+		member.getStatePublisher().subscribe(new MemberSubscriber(index));
+		return index;
+	}
+	/**
+	 * Returns a member.
+	 * @param index Index of the member.
+	 * @return Member.
+	 */
+	public synchronized MultiStateObject<E> get(int index){
+		return members.get(index);
+	}
+	/**
+	 * Returns the number of members.
+	 * @return Number of members.
+	 */
+	public synchronized int size(){
+		return members.size();
+	}
+	/**
+	 * Selects a member and deselects the previous selected one. Only those
+	 * two members are changed.
+	 * @param index Index of the member to select, NO_SELECTION to deselect
+	 * all.
+	 */
+	public synchronized void select(int index){
+		if(index != NO_SELECTION && (index < 0 || index >= members.size()))
+			throw new IndexOutOfBoundsException("Member " + index + " of " + members.size());
+		if(index == selected)
+			return;
+		int previous = selected;
+		//selected is set first, so published states of both members agree
+		selected = index;
+		if(previous != NO_SELECTION)
+			members.get(previous).setState(unselected_state);
+		if(index != NO_SELECTION)
+			members.get(index).setState(selected_state);
+	}
+	/**
+	 * Returns the index of the selected member.
+	 * @return Index or NO_SELECTION if no member is selected.
+	 */
+	public synchronized int getSelected(){
+		return selected;
+	}
+	/**
+	 * Sets the state of every member in one batch. Each member is actualized
+	 * once at most, and only if its state changes. At most one member can be
+	 * set to the selected state; it becomes the selected member and the
+	 * previous selected one is deselected if the batch keeps its state.
+	 * @param states New state of each member, MultiStateObject.RETURN_IGNORE_STATE
+	 * to keep the state of a member.
+	 * @throws IllegalArgumentException if there is not a state per member or
+	 * more than one member is set to the selected state.
+	 */
+	public synchronized void setStates(int[] states){
+		if(states.length != members.size())
+			throw new IllegalArgumentException(states.length + " states for " + members.size() + " members");
+		int chosen = NO_SELECTION;
+		for(int i = 0; i < states.length; i++)
+			if(states[i] == selected_state){
+				if(chosen != NO_SELECTION)
+					throw new IllegalArgumentException("Members " + chosen + " and " + i + " set to selected state");
+				chosen = i;
+			}
+		internal_change = true;
+		try{
+			int previous = selected;
+			for(int i = 0; i < states.length; i++){
+				int state = states[i];
+				if(state == MultiStateObject.RETURN_IGNORE_STATE)
+					continue;
+				members.get(i).setState(state);
+				if(i == selected)
+					selected = NO_SELECTION;
+			}
+			if(chosen != NO_SELECTION){
+				selected = chosen;
+				if(previous != NO_SELECTION && previous != chosen && states[previous] == MultiStateObject.RETURN_IGNORE_STATE)
+					members.get(previous).setState(unselected_state);
+			}
+		}finally{
+			internal_change = false;
+		}
+	}
+	
+	// PRIVATE METHODS
+	
+	/*
+	 * Follows a stable state reached by a member. States set by select(..)
+	 * already agree with selected, so they change nothing.
+	 */
+	private synchronized void memberChanged(int index, int state){
+		if(internal_change)
+			return;
+		if(state == selected_state){
+			if(index != selected){
+				int previous = selected;
+				selected = index;
+				if(previous != NO_SELECTION)
+					members.get(previous).setState(unselected_state);
+			}
+		}
+		else if(index == selected)
+			selected = NO_SELECTION;
+	}
+	
+	// PRIVATE CLASSES
+	
+	/*
+	 * Subscriber of the states of a member, while click states are skipped.
+	 */
+	private class MemberSubscriber implements Subscriber<Integer> {
+		private final int index;
+		
+		MemberSubscriber(int index){
+			this.index = index;
+		}
+		public void onSubscribe(Subscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+		}
+		public void onNext(Integer item) {
+			int state = item;
+			if(state != MultiStateObject.WHILE_CLICK_STATE && state != MultiStateObject.WHILE_LONG_CLICK_STATE)
+				memberChanged(index, state);
+		}
+		public void onError(Throwable throwable) {}
+		public void onComplete() {}
+	}
+}
@@ -15,6 +15,16 @@
 //	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
 package com.andviewutil.mstate;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.andviewutil.reactive.LatestPublisher;
+import com.andviewutil.reactive.Publisher;
+import com.andviewutil.timer.ScheduledTask;
+import com.andviewutil.timer.SharedThreadScheduler;
+import com.andviewutil.timer.TaskScheduler;
+
 /**
  * This abstract class manages the states of a E object.
  * 
@@ -36,21 +46,34 @@ public abstract class MultiStateObject<E>{
 	
 	/** View object which state is managed*/
 	protected E target;
-	/*last stable state (cant be while click and while long click)*/
-	private int last_stable_state;
-	/*current state, including while click and while long click*/
-	private int current_state;
+	/*
+	 * State word. High 32 bits hold the last stable state (cant be while click
+	 * and while long click), low 32 bits hold the current state, including
+	 * while click and while long click. Both are always changed together by
+	 * compare and set, so touch and long click threads never see a half
+	 * applied transition.
+	 */
+	private final AtomicLong state_word = new AtomicLong();
+	/*last state given to actualizeOnState(..), NOT_RENDERED before first one*/
+	private final AtomicInteger rendered_state = new AtomicInteger(NOT_RENDERED);
+	/*number of actualize() calls that did not need to render*/
+	private final AtomicLong skipped_renders = new AtomicLong();
+	/*publisher of state transitions, created on first request*/
+	private volatile LatestPublisher<Integer> state_publisher;
+	/*rendered_state value before first render*/
+	private static final int NOT_RENDERED = Integer.MIN_VALUE;
 	/*time to admit that a click is a long click*/
 	private int long_click_delay;
-	/*long click task*/
-	private Runnable long_click_task = new Runnable(){
-		public void run(){ 
-			try {
-				Thread.sleep(long_click_delay);
-			} catch (InterruptedException e) { } 
-			if (isClicked()) startLongClick();
-		}
-	};
+	/*scheduler used by all instances that have not been given their own*/
+	private static TaskScheduler default_scheduler;
+	/*scheduler where long click deadline is armed*/
+	private TaskScheduler scheduler;
+	/*transition table, null if transitions are resolved by actualizeState(..)*/
+	private StateTable state_table;
+	/*pending long click deadline, null if there is none*/
+	private final AtomicReference<ScheduledTask> long_click_timer = new AtomicReference<ScheduledTask>();
+	/*long click task, created on first touch so untouched objects save it*/
+	private volatile Runnable long_click_task;
 	/**
 	 * Builds with initial state as UNKNOWN_STATE.
 	 * @param target E object which state is managed.
@@ -66,8 +89,7 @@ public abstract class MultiStateObject<E>{
 	public MultiStateObject(E target, int starting_state){
 		this.target = target;
 		long_click_delay = 200;
-		this.current_state = starting_state;
-		this.last_stable_state = starting_state;
+		this.state_word.set(pack(starting_state, starting_state));
 		this.actualize();
 	}
 	/**
@@ -102,27 +124,100 @@ public abstract class MultiStateObject<E>{
 	public void setLongClickDelay(int millis){
 		this.long_click_delay = millis;
 	}
+	/**
+	 * Returns a publisher of the state transitions, including while click
+	 * and while long click states. Subscribers without demand only keep the
+	 * latest state.
+	 * @return Publisher of current states.
+	 */
+	public Publisher<Integer> getStatePublisher(){
+		if(state_publisher == null)
+			synchronized(state_word){
+				if(state_publisher == null)
+					state_publisher = new LatestPublisher<Integer>();
+			}
+		return state_publisher;
+	}
+	/**
+	 * Sets the transition table. Clicks on states that the table does not
+	 * know are resolved by actualizeState(..).
+	 * @param state_table Transition table, null to resolve every click by
+	 * actualizeState(..).
+	 */
+	public void setStateTable(StateTable state_table){
+		this.state_table = state_table;
+	}
+	/**
+	 * Returns the transition table.
+	 * @return Transition table or null if there is none.
+	 */
+	public StateTable getStateTable(){
+		return this.state_table;
+	}
+	/**
+	 * Sets the scheduler where long click deadline is armed. Tasks of the
+	 * scheduler will call actualizeOnState(..) from its thread.
+	 * @param scheduler Scheduler to use.
+	 */
+	public void setScheduler(TaskScheduler scheduler){
+		this.scheduler = scheduler;
+	}
+	/**
+	 * Returns the scheduler where long click deadline is armed.
+	 * @return Scheduler used by this object.
+	 */
+	public TaskScheduler getScheduler(){
+		if(this.scheduler == null)
+			this.scheduler = defaultScheduler();
+		return this.scheduler;
+	}
+	/**
+	 * Sets the scheduler used by objects that have not been given their own
+	 * one. By default a single thread is shared by all objects. It is not 
+	 * used by MultiStateViews, they run on the main thread.
+	 * @param scheduler Default scheduler.
+	 */
+	public static synchronized void setDefaultScheduler(TaskScheduler scheduler){
+		default_scheduler = scheduler;
+	}
+	/**
+	 * Returns the scheduler used by objects that have not been given their
+	 * own one.
+	 * @return Default scheduler.
+	 */
+	public static synchronized TaskScheduler getDefaultScheduler(){
+		if(default_scheduler == null)
+			default_scheduler = SharedThreadScheduler.getInstance();
+		return default_scheduler;
+	}
 	/**
 	 * Asks if is currently long clicked.
 	 * @return True if is clicked and long click time has been
 	 * 				reached, false otherwise.
 	 */
 	public boolean isLongClicked(){
-		return this.current_state == WHILE_LONG_CLICK_STATE;
+		return current(state_word.get()) == WHILE_LONG_CLICK_STATE;
 	}
 	/**
 	 * Asks if is currently clicked.
 	 * @return true if is currently clicked, false otherwise.
 	 */
 	public boolean isClicked(){
-		return this.current_state <= WHILE_CLICK_STATE || isLongClicked();
+		return isClicked(current(state_word.get()));
 	}
 	/**
 	 * Returns the last stable state.
 	 * @return Last stable state.
 	 */
 	public int getLastStableState(){
-		return this.last_stable_state;
+		return lastStable(state_word.get());
+	}
+	/**
+	 * Returns the current state, including while click and while long click.
+	 * @return Current state.
+	 */
+	public int getCurrentState(){
+		return current(state_word.get());
 	}
 	/**
 	 * Sets a state. If view is currently clicked the state will be actualized after click.
@@ -131,18 +226,56 @@ public abstract class MultiStateObject<E>{
 	public void setState(int state){
 		
 		if(state != WHILE_CLICK_STATE && state != WHILE_LONG_CLICK_STATE){
-			this.last_stable_state = state;
-			if(!this.isClicked()){
-				this.current_state = last_stable_state;
+			long word;
+			boolean clicked;
+			do{
+				word = state_word.get();
+				clicked = isClicked(current(word));
+			}while(!state_word.compareAndSet(word, clicked ? pack(current(word), state) : pack(state, state)));
+			if(!clicked){
+				publishState(state);
 				this.actualize();
 			}
 		}
 	}
 	/**
-	 * Actualizes the view with the current state.
+	 * Actualizes the view with the current state. Nothing is done if the
+	 * current state is the last one rendered, use refresh() to render it
+	 * anyway. MultiStateViews render on the main thread only, other objects
+	 * may render from the scheduler thread too.
 	 */
 	public void actualize(){
-		actualizeOnState(target, this.current_state);
+		int state = current(state_word.get());
+		if(rendered_state.getAndSet(state) == state)
+			skipped_renders.incrementAndGet();
+		else
+			render(state);
+	}
+	/**
+	 * Actualizes the view with the current state even if it has already been
+	 * rendered.
+	 */
+	public void refresh(){
+		int state = current(state_word.get());
+		rendered_state.set(state);
+		render(state);
+	}
+	/**
+	 * Returns how many times actualize() has not called actualizeOnState(..)
+	 * because the state was already rendered.
+	 * @return Number of skipped renders.
+	 */
+	public long getSkippedRenders(){
+		return skipped_renders.get();
+	}
+	/**
+	 * Returns the scheduler used when this object has not been given one. 
+	 * By default it is getDefaultScheduler(), subclasses that render on a 
+	 * given thread return a scheduler of that thread.
+	 * @return Scheduler for this object.
+	 */
+	protected TaskScheduler defaultScheduler(){
+		return getDefaultScheduler();
 	}
 	/**
 	 * Must actualize the view by given state.
@@ -151,9 +284,14 @@ public abstract class MultiStateObject<E>{
 	 */
 	protected abstract void actualizeOnState(E target, int state);
 	/**
-	 * Must return the next state when click action is performed.
-	 * If return is IGNORE_RETURN_STATE the next state will be the last state
-	 * automatically.
+	 * Returns the next state when click action is performed and the state
+	 * table has no transition for it. If return is RETURN_IGNORE_STATE the
+	 * next state will be the last state automatically. Objects whose every
+	 * transition is on the table may just return RETURN_IGNORE_STATE.
+	 * <p>
+	 * It is called once per click. It is called again, with the new values,
+	 * only if a long click is reached or setState(..) is called while the
+	 * click ends; then only the result of the last call is applied.
 	 * 
 	 * @param target E object which state is applied.
 	 * @param last_state The last stable state
@@ -165,15 +303,49 @@ public abstract class MultiStateObject<E>{
 	// PRIVATE METHODS
 	
 	private void startTouch(){
-		current_state = WHILE_CLICK_STATE;
+		long word;
+		do{
+			word = state_word.get();
+		}while(!state_word.compareAndSet(word, pack(WHILE_CLICK_STATE, lastStable(word))));
+		publishState(WHILE_CLICK_STATE);
 		actualize();
-		(new Thread(long_click_task)).start();
+		Runnable task = long_click_task;
+		if(task == null){
+			task = new Runnable(){
+				public void run(){ 
+					if (startLongClick()) actualize();
+				}
+			};
+			long_click_task = task;
+		}
+		//touches may start on several threads, every replaced deadline is
+		//cancelled by the thread that replaces it
+		ScheduledTask previous = long_click_timer.getAndSet(getScheduler().schedule(task, long_click_delay));
+		if(previous != null)
+			previous.cancel();
 	}
 	private void successfulEndTouch(){
-		int next_state = actualizeState(target, last_stable_state, this.isLongClicked());
-		if(next_state != RETURN_IGNORE_STATE)
-			this.last_stable_state = next_state;
-		this.current_state = this.last_stable_state;
+		//next state is asked once, and again only if long click is reached or
+		//state is set meanwhile, with the new values
+		long word;
+		int next_state = RETURN_IGNORE_STATE;
+		int asked_state = 0;
+		boolean asked_long_click = false;
+		boolean asked = false;
+		do{
+			word = state_word.get();
+			int last_state = lastStable(word);
+			boolean long_click = current(word) == WHILE_LONG_CLICK_STATE;
+			if(!asked || last_state != asked_state || long_click != asked_long_click){
+				next_state = nextState(last_state, long_click);
+				if(next_state == RETURN_IGNORE_STATE)
+					next_state = last_state;
+				asked_state = last_state;
+				asked_long_click = long_click;
+				asked = true;
+			}
+		}while(!state_word.compareAndSet(word, pack(next_state, next_state)));
+		publishState(next_state);
 		endTouch();
 	}
 	private void unsuccessfulEndTouch(){
@@ -181,18 +353,85 @@ public abstract class MultiStateObject<E>{
 		endTouch();
 	}
 	private void endTouch(){
+		cancelLongClickTimer();
 		if(isLongClicked()) endLongClick();
 		actualize();
 	}
-	private void startLongClick(){
-		this.current_state = WHILE_LONG_CLICK_STATE;
-		actualize();
+	/*
+	 * Looks for the next state on the table, asks actualizeState(..) if table
+	 * has not got it.
+	 */
+	private int nextState(int last_state, boolean long_click){
+		StateTable table = this.state_table;
+		if(table != null){
+			int next_state = table.next(last_state, long_click);
+			if(next_state != StateTable.NO_TRANSITION)
+				return next_state;
+		}
+		return actualizeState(target, last_state, long_click);
+	}
+	/*
+	 * Moves from while click to while long click. Returns false if touch has
+	 * already finished.
+	 */
+	private boolean startLongClick(){
+		long word;
+		do{
+			word = state_word.get();
+			if(current(word) != WHILE_CLICK_STATE)
+				return false;
+		}while(!state_word.compareAndSet(word, pack(WHILE_LONG_CLICK_STATE, lastStable(word))));
+		publishState(WHILE_LONG_CLICK_STATE);
+		return true;
 	}
 	private void endLongClick(){
-		current_state = WHILE_CLICK_STATE;
+		long word = state_word.get();
+		if(current(word) == WHILE_LONG_CLICK_STATE)
+			if(state_word.compareAndSet(word, pack(WHILE_CLICK_STATE, lastStable(word))))
+				publishState(WHILE_CLICK_STATE);
+	}
+	private void cancelLongClickTimer(){
+		ScheduledTask timer = long_click_timer.getAndSet(null);
+		if(timer != null)
+			timer.cancel();
 	}
 	private void onKeepState(){
-		this.current_state = getLastStableState();
+		long word;
+		do{
+			word = state_word.get();
+		}while(!state_word.compareAndSet(word, pack(lastStable(word), lastStable(word))));
+		publishState(lastStable(word));
 		actualize();
 	}
+	/*
+	 * Renders the given state. If state changes meanwhile, another thread may 
+	 * have rendered the new one before this render ended, so the current 
+	 * state is rendered again until the last render is the current state.
+	 */
+	private void render(int state){
+		actualizeOnState(target, state);
+		int current;
+		while((current = current(state_word.get())) != state){
+			state = current;
+			rendered_state.set(state);
+			actualizeOnState(target, state);
+		}
+	}
+	private void publishState(int state){
+		LatestPublisher<Integer> publisher = state_publisher;
+		if(publisher != null && publisher.hasSubscribers())
+			publisher.publish(state);
+	}
+	private static boolean isClicked(int current){
+		return current == WHILE_CLICK_STATE || current == WHILE_LONG_CLICK_STATE;
+	}
+	private static long pack(int current, int last_stable){
+		return ((long)last_stable << 32) | (current & 0xFFFFFFFFL);
+	}
+	private static int current(long word){
+		return (int)word;
+	}
+	private static int lastStable(long word){
+		return (int)(word >>> 32);
+	}
 }
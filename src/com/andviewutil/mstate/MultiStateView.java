@@ -15,6 +15,9 @@
 //	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
 package com.andviewutil.mstate;
 
+import com.andviewutil.timer.HandlerScheduler;
+import com.andviewutil.timer.TaskScheduler;
+
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.View.OnTouchListener;
@@ -27,6 +30,11 @@ import android.view.View.OnTouchListener;
  */
 public abstract class MultiStateView extends MultiStateObject<View>{	
 	
+	/*scheduler of the main thread shared by all views, created on first use*/
+	private static TaskScheduler main_scheduler;
+	/*trace where touch actions are recorded, null if they are not*/
+	private volatile TouchTrace touch_trace;
+	
 	/**
 	 * Builds with initial unknown state.
 	 * @param view View object which state is managed.
@@ -44,22 +52,86 @@ public abstract class MultiStateView extends MultiStateObject<View>{
 		view.setOnTouchListener(new OnTouchListener(){
 
 			public boolean onTouch(View arg0, MotionEvent arg1) {
-				switch(arg1.getAction()){
-					case(MotionEvent.ACTION_DOWN):
-						performActionDown();
-						break;
-					case(MotionEvent.ACTION_CANCEL):
-					case(MotionEvent.ACTION_OUTSIDE):
-						performActionCancel();
-						break;
-					case(MotionEvent.ACTION_UP):
-						performActionUp();
-						break;
-				}
-				return true;	
+				return dispatchTouch(arg1);	
 			};		
 		});
 	}
+	/**
+	 * Builds with a given initial state. Touches of the view are delivered by
+	 * the given dispatcher, no listener is created for this view.
+	 * @param view View object which state is managed.
+	 * @param starting_state Initial state.
+	 * @param dispatcher Dispatcher of the screen of the view, the view must
+	 * be unregistered from it when it is dropped.
+	 */
+	public MultiStateView(View view, int starting_state, TouchDispatcher dispatcher){
+		super(view, starting_state);
+		dispatcher.register(this);
+	}
+	/**
+	 * Sets the trace where touch actions of the view are recorded, with the
+	 * time of their events.
+	 * @param touch_trace Trace to record on, null to stop recording.
+	 */
+	public void setTouchTrace(TouchTrace touch_trace){
+		this.touch_trace = touch_trace;
+	}
+	/**
+	 * Returns the trace where touch actions are recorded.
+	 * @return Trace or null if actions are not recorded.
+	 */
+	public TouchTrace getTouchTrace(){
+		return this.touch_trace;
+	}
+	
+	// PROTECTED METHODS
+	
+	/**
+	 * Views are modified on the main thread, so by default long click 
+	 * deadline is run there.
+	 * @return Scheduler of the main thread.
+	 */
+	@Override
+	protected TaskScheduler defaultScheduler(){
+		synchronized(MultiStateView.class){
+			if(main_scheduler == null)
+				main_scheduler = new HandlerScheduler();
+			return main_scheduler;
+		}
+	}
+	
+	// PACKAGE METHODS
+	
+	/*
+	 * Performs the action of a touch event.
+	 */
+	boolean dispatchTouch(MotionEvent event){
+		switch(event.getAction()){
+			case(MotionEvent.ACTION_DOWN):
+				record(TouchTrace.ACTION_DOWN, event);
+				performActionDown();
+				break;
+			case(MotionEvent.ACTION_CANCEL):
+				record(TouchTrace.ACTION_CANCEL, event);
+				performActionCancel();
+				break;
+			case(MotionEvent.ACTION_OUTSIDE):
+				record(TouchTrace.ACTION_OUTSIDE, event);
+				performActionCancel();
+				break;
+			case(MotionEvent.ACTION_UP):
+				record(TouchTrace.ACTION_UP, event);
+				performActionUp();
+				break;
+		}
+		return true;
+	}
 	
+	// PRIVATE METHODS
 	
+	private void record(int action, MotionEvent event){
+		TouchTrace trace = this.touch_trace;
+		if(trace != null)
+			trace.record(action, event.getEventTime());
+	}
 }
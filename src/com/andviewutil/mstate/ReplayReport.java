@@ -0,0 +1,147 @@
+//	LICENSE:
+//	ReplayReport.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import java.util.Arrays;
+
+/**
+ * Result of a TouchReplay. Holds the latency of every action, the state 
+ * reached after each one and the final states, so two replays of the same 
+ * trace can be compared.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 MultiStateView
+ * @version 1.3 AndViewUtils
+ */
+public class ReplayReport {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*nanoseconds spent on each action*/
+	private final long[] latencies;
+	/*current state after each action*/
+	private final int[] states;
+	private final int final_state;
+	private final int final_stable_state;
+	/*nanoseconds spent on the whole replay*/
+	private final long elapsed;
+	/*latencies sorted, created on first percentile*/
+	private long[] sorted;
+	
+	// CONSTRUCTOR
+	
+	ReplayReport(long[] latencies, int[] states, int final_state, int final_stable_state, long elapsed){
+		this.latencies = latencies;
+		this.states = states;
+		this.final_state = final_state;
+		this.final_stable_state = final_stable_state;
+		this.elapsed = elapsed;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns the number of replayed actions.
+	 * @return Number of actions.
+	 */
+	public int getActions(){
+		return latencies.length;
+	}
+	/**
+	 * Returns the latency of an action, from its dispatch until its 
+	 * transition and render are done.
+	 * @param i Position of the action on the trace.
+	 * @return Nanoseconds.
+	 */
+	public long getLatency(int i){
+		return latencies[i];
+	}
+	/**
+	 * Returns the current state reached after an action.
+	 * @param i Position of the action on the trace.
+	 * @return Current state.
+	 */
+	public int getState(int i){
+		return states[i];
+	}
+	/**
+	 * Returns the current state at the end of the replay.
+	 * @return Final state.
+	 */
+	public int getFinalState(){
+		return final_state;
+	}
+	/**
+	 * Returns the last stable state at the end of the replay.
+	 * @return Final stable state.
+	 */
+	public int getFinalStableState(){
+		return final_stable_state;
+	}
+	/**
+	 * Returns the time spent on the whole replay, waits included.
+	 * @return Nanoseconds.
+	 */
+	public long getElapsed(){
+		return elapsed;
+	}
+	/**
+	 * Returns the mean latency.
+	 * @return Nanoseconds, 0 if there are no actions.
+	 */
+	public long getMeanLatency(){
+		if(latencies.length == 0)
+			return 0;
+		long sum = 0;
+		for(int i = 0; i < latencies.length; i++)
+			sum += latencies[i];
+		return sum / latencies.length;
+	}
+	/**
+	 * Returns a percentile of latency.
+	 * @param percentile Percentile in [0, 100], 100 is the maximum.
+	 * @return Nanoseconds, 0 if there are no actions.
+	 */
+	public synchronized long getLatencyPercentile(double percentile){
+		if(latencies.length == 0)
+			return 0;
+		if(sorted == null){
+			sorted = latencies.clone();
+			Arrays.sort(sorted);
+		}
+		int i = (int)Math.ceil(percentile / 100 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(i, sorted.length - 1))];
+	}
+	/**
+	 * Asks if another replay reached the same states after every action.
+	 * @param other Report of another replay.
+	 * @return true if states are the same, false otherwise.
+	 */
+	public boolean hasSameStates(ReplayReport other){
+		return final_state == other.final_state 
+				&& final_stable_state == other.final_stable_state
+				&& Arrays.equals(states, other.states);
+	}
+	@Override
+	public String toString(){
+		return "ReplayReport[actions=" + getActions() 
+				+ ", mean=" + getMeanLatency() + "ns"
+				+ ", p50=" + getLatencyPercentile(50) + "ns"
+				+ ", p99=" + getLatencyPercentile(99) + "ns"
+				+ ", max=" + getLatencyPercentile(100) + "ns"
+				+ ", final_state=" + final_state
+				+ ", final_stable_state=" + final_stable_state + "]";
+	}
+}
@@ -0,0 +1,164 @@
+//	LICENSE:
+//	StateTable.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Immutable transition table of a MultiStateObject. States are compiled into
+ * a dense array so the next state of a click is found with a single lookup.
+ * A table can be shared by any number of objects. Use StateTable.Builder to
+ * build it.
+ * 
+ * States given to the builder should be close to each other, the table has
+ * two entries for every integer between the lowest and the highest state.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 MultiStateView
+ * @version 1.3 AndViewUtils
+ */
+public final class StateTable {
+
+	/** returned by next(..) when table has no transition for the given state */
+	public static final int NO_TRANSITION = Integer.MIN_VALUE;
+	
+	// PRIVATE ATTRIBUTES
+	
+	/*lowest state of the table*/
+	private final int offset;
+	/*number of states between lowest and highest state, both included*/
+	private final int size;
+	/*next states, click at [2*i] and long click at [2*i+1]*/
+	private final int[] next;
+	
+	// PRIVATE CONSTRUCTOR
+	
+	private StateTable(int offset, int size, int[] next){
+		this.offset = offset;
+		this.size = size;
+		this.next = next;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns the next state when click action is performed.
+	 * @param last_state The last stable state.
+	 * @param long_click If click action has been long or not.
+	 * @return Next state, RETURN_IGNORE_STATE if state must be kept or
+	 * NO_TRANSITION if table has no rule for the given state.
+	 */
+	public int next(int last_state, boolean long_click){
+		int i = last_state - offset;
+		if(i < 0 || i >= size)
+			return NO_TRANSITION;
+		return next[(i << 1) | (long_click ? 1 : 0)];
+	}
+	
+	// PUBLIC CLASSES
+	
+	/**
+	 * Collects states and transitions and compiles them into a StateTable.
+	 * Transitions to MultiStateObject.RETURN_IGNORE_STATE keep the last
+	 * stable state.
+	 */
+	public static class Builder {
+		
+		/*rules as {from, to, long click ? 1 : 0}*/
+		private final ArrayList<int[]> rules = new ArrayList<int[]>();
+		/*states without rules, only used to extend the table*/
+		private final ArrayList<Integer> states = new ArrayList<Integer>();
+		
+		/**
+		 * Adds a state without transitions. Clicks on it will be resolved by
+		 * MultiStateObject.actualizeState(..).
+		 * @param state Stable state.
+		 * @return This builder.
+		 */
+		public Builder addState(int state){
+			checkStable(state);
+			states.add(state);
+			return this;
+		}
+		/**
+		 * Adds the transition of a short click.
+		 * @param from Last stable state.
+		 * @param to Next state or RETURN_IGNORE_STATE.
+		 * @return This builder.
+		 */
+		public Builder onClick(int from, int to){
+			return addRule(from, to, 0);
+		}
+		/**
+		 * Adds the transition of a long click.
+		 * @param from Last stable state.
+		 * @param to Next state or RETURN_IGNORE_STATE.
+		 * @return This builder.
+		 */
+		public Builder onLongClick(int from, int to){
+			return addRule(from, to, 1);
+		}
+		/**
+		 * Adds the same transition for short and long clicks.
+		 * @param from Last stable state.
+		 * @param to Next state or RETURN_IGNORE_STATE.
+		 * @return This builder.
+		 */
+		public Builder onAnyClick(int from, int to){
+			return onClick(from, to).onLongClick(from, to);
+		}
+		/**
+		 * Compiles the table.
+		 * @return New table.
+		 */
+		public StateTable build(){
+			if(rules.isEmpty() && states.isEmpty())
+				return new StateTable(0, 0, new int[0]);
+			long low = Integer.MAX_VALUE, high = Integer.MIN_VALUE;
+			for(int[] rule : rules){
+				low = Math.min(low, rule[0]);
+				high = Math.max(high, rule[0]);
+			}
+			for(Integer state : states){
+				low = Math.min(low, state);
+				high = Math.max(high, state);
+			}
+			if(high - low + 1 > Integer.MAX_VALUE/2)
+				throw new IllegalArgumentException("States are too far apart to build a table");
+			int size = (int)(high - low + 1);
+			int[] next = new int[size << 1];
+			Arrays.fill(next, NO_TRANSITION);
+			for(int[] rule : rules)
+				next[((rule[0] - (int)low) << 1) | rule[2]] = rule[1];
+			return new StateTable((int)low, size, next);
+		}
+		
+		private Builder addRule(int from, int to, int long_click){
+			checkStable(from);
+			if(to != MultiStateObject.RETURN_IGNORE_STATE)
+				checkStable(to);
+			rules.add(new int[]{from, to, long_click});
+			return this;
+		}
+		private static void checkStable(int state){
+			if(state == MultiStateObject.WHILE_CLICK_STATE
+					|| state == MultiStateObject.WHILE_LONG_CLICK_STATE
+					|| state == MultiStateObject.RETURN_IGNORE_STATE
+					|| state == NO_TRANSITION)
+				throw new IllegalArgumentException("Not a stable state: " + state);
+		}
+	}
+}
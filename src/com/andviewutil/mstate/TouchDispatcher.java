@@ -0,0 +1,162 @@
+//	LICENSE:
+//	TouchDispatcher.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.OnTouchListener;
+
+/**
+ * Single touch listener shared by many MultiStateViews. The state object of
+ * a touched view is found on an open addressing table keyed by view 
+ * identity, so no listener is created per view and view tags are left to
+ * the application.
+ * <p>
+ * A dispatcher belongs to one screen: create one per Activity or Fragment
+ * and do not keep it on a static field. Registered views, and so their
+ * Context, stay referenced until they are unregistered, so views must be
+ * unregistered when they are dropped and unregisterAll() must be called
+ * when the screen is destroyed, e.g. on Activity.onDestroy().
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 MultiStateView
+ * @version 1.3 AndViewUtils
+ */
+public class TouchDispatcher implements OnTouchListener {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*registered objects on linear probing slots, length is a power of two*/
+	private MultiStateView[] table = new MultiStateView[16];
+	/*number of registered objects*/
+	private int size = 0;
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Registers an object and sets this dispatcher as touch listener of its
+	 * view. An object registered before for the same view is replaced.
+	 * @param object Object which view touches are dispatched.
+	 */
+	public void register(MultiStateView object){
+		View view = object.getTarget();
+		synchronized(this){
+			int i = slot(view);
+			if(table[i] == null){
+				if(++size * 2 > table.length){
+					resize();
+					i = slot(view);
+				}
+			}
+			table[i] = object;
+		}
+		view.setOnTouchListener(this);
+	}
+	/**
+	 * Unregisters the object of a view and removes the touch listener of the
+	 * view.
+	 * @param view View to unregister.
+	 * @return Unregistered object or null if view was not registered.
+	 */
+	public MultiStateView unregister(View view){
+		MultiStateView object;
+		synchronized(this){
+			int i = slot(view);
+			object = table[i];
+			if(object == null)
+				return null;
+			remove(i);
+		}
+		view.setOnTouchListener(null);
+		return object;
+	}
+	/**
+	 * Unregisters every object and removes the touch listener of their
+	 * views. Called when the screen of the views is destroyed.
+	 */
+	public void unregisterAll(){
+		MultiStateView[] old;
+		synchronized(this){
+			old = table;
+			table = new MultiStateView[16];
+			size = 0;
+		}
+		for(int i = 0; i < old.length; i++)
+			if(old[i] != null)
+				old[i].getTarget().setOnTouchListener(null);
+	}
+	/**
+	 * Returns the object registered for a view.
+	 * @param view Registered view.
+	 * @return Object or null if view is not registered.
+	 */
+	public synchronized MultiStateView get(View view){
+		return table[slot(view)];
+	}
+	/**
+	 * Returns the number of registered views.
+	 * @return Registered views.
+	 */
+	public synchronized int size(){
+		return size;
+	}
+	public boolean onTouch(View view, MotionEvent event) {
+		MultiStateView object = get(view);
+		return object != null && object.dispatchTouch(event);
+	}
+	
+	// PRIVATE METHODS
+	
+	/*
+	 * Returns the slot of the view or the empty slot where it would be.
+	 */
+	private int slot(View view){
+		int mask = table.length - 1;
+		int i = hash(view) & mask;
+		MultiStateView object;
+		while((object = table[i]) != null && object.getTarget() != view)
+			i = (i + 1) & mask;
+		return i;
+	}
+	private static int hash(View view){
+		int h = System.identityHashCode(view) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	private void resize(){
+		MultiStateView[] old = table;
+		table = new MultiStateView[old.length * 2];
+		for(int i = 0; i < old.length; i++)
+			if(old[i] != null)
+				table[slot(old[i].getTarget())] = old[i];
+	}
+	/*
+	 * Empties a slot moving back the following objects of the probe run, so
+	 * lookups never stop on a hole.
+	 */
+	private void remove(int i){
+		int mask = table.length - 1;
+		table[i] = null;
+		size--;
+		for(int j = (i + 1) & mask; table[j] != null; j = (j + 1) & mask){
+			int home = hash(table[j].getTarget()) & mask;
+			//move j to i if its home slot is not in (i, j] cyclically
+			if(((j - home) & mask) >= ((j - i) & mask)){
+				table[i] = table[j];
+				table[j] = null;
+				i = j;
+			}
+		}
+	}
+}
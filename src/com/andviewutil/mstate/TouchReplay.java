@@ -0,0 +1,125 @@
+//	LICENSE:
+//	TouchReplay.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.andviewutil.timer.ManualScheduler;
+import com.andviewutil.timer.TaskScheduler;
+
+/**
+ * Replays a TouchTrace into a MultiStateObject. Time of the trace is
+ * virtual: long click deadlines are run when the replay reaches their time,
+ * not by a timer thread, so a replay gives the same states at any speed.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 MultiStateView
+ * @version 1.3 AndViewUtils
+ */
+public class TouchReplay {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*trace to replay*/
+	private final TouchTrace trace;
+	/*times faster than the trace, 0 or less to replay without waiting*/
+	private double speed = 1;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Builds a replay of the given trace at real speed.
+	 * @param trace Trace to replay.
+	 */
+	public TouchReplay(TouchTrace trace){
+		this.trace = trace;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Sets the speed of replay. At speed 1000 one second of trace takes one
+	 * millisecond.
+	 * @param speed Times faster than the trace, 0 or less to replay as fast
+	 * as possible.
+	 * @return This replay.
+	 */
+	public TouchReplay setSpeed(double speed){
+		this.speed = speed;
+		return this;
+	}
+	/**
+	 * Returns the speed of replay.
+	 * @return Times faster than the trace, 0 or less if there is no wait.
+	 */
+	public double getSpeed(){
+		return speed;
+	}
+	/**
+	 * Replays the trace on the calling thread. While it runs the target uses
+	 * a ManualScheduler on the time of the trace, its own one is restored 
+	 * after.
+	 * @param target Object receiving the actions.
+	 * @return Latency of every action and states reached.
+	 */
+	public ReplayReport replay(MultiStateObject<?> target){
+		int count = trace.size();
+		long[] latencies = new long[count];
+		int[] states = new int[count];
+		ManualScheduler scheduler = new ManualScheduler(count > 0 ? trace.getTime(0) : 0);
+		TaskScheduler previous = target.getScheduler();
+		target.setScheduler(scheduler);
+		long start = System.nanoTime();
+		try{
+			for(int i = 0; i < count; i++){
+				long time = trace.getTime(i);
+				scheduler.advanceTo(time);
+				if(speed > 0)
+					waitUntil(start + (long)((time - trace.getTime(0)) * 1000000L / speed));
+				long before = System.nanoTime();
+				perform(target, trace.getAction(i));
+				latencies[i] = System.nanoTime() - before;
+				states[i] = target.getCurrentState();
+			}
+		}
+		finally{
+			target.setScheduler(previous);
+		}
+		return new ReplayReport(latencies, states, target.getCurrentState(),
+				target.getLastStableState(), System.nanoTime() - start);
+	}
+	
+	// PRIVATE METHODS
+	
+	private static void perform(MultiStateObject<?> target, int action){
+		switch(action){
+			case TouchTrace.ACTION_DOWN:
+				target.performActionDown();
+				break;
+			case TouchTrace.ACTION_CANCEL:
+			case TouchTrace.ACTION_OUTSIDE:
+				target.performActionCancel();
+				break;
+			case TouchTrace.ACTION_UP:
+				target.performActionUp();
+				break;
+		}
+	}
+	private static void waitUntil(long deadline){
+		long wait;
+		while((wait = deadline - System.nanoTime()) > 0)
+			LockSupport.parkNanos(wait);
+	}
+}
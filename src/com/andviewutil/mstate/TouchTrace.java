@@ -0,0 +1,206 @@
+//	LICENSE:
+//	TouchTrace.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Timed sequence of touch actions seen by a MultiStateView. It can be stored
+ * in a compact binary format and replayed by TouchReplay.
+ * <p>
+ * Format: magic "MSTT", a version byte, the time of the first action as a
+ * long and the number of actions as a varint. Each action follows as a 
+ * varint holding the milliseconds since the previous action shifted two
+ * bits left plus the action code, so most actions take one or two bytes.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 MultiStateView
+ * @version 1.3 AndViewUtils
+ */
+public class TouchTrace {
+
+	/** touch starts */
+	public static final int ACTION_DOWN = 0;
+	/** touch ends on the view */
+	public static final int ACTION_UP = 1;
+	/** touch is cancelled */
+	public static final int ACTION_CANCEL = 2;
+	/** touch goes outside the view */
+	public static final int ACTION_OUTSIDE = 3;
+	
+	// PRIVATE ATTRIBUTES
+	
+	/*"MSTT"*/
+	private static final int MAGIC = 0x4D535454;
+	private static final int VERSION = 1;
+	/*greatest time between actions, two bits are left for the action*/
+	private static final long MAX_DELTA = Long.MAX_VALUE >>> 2;
+	/*actions and their times, first size entries are used*/
+	private byte[] actions;
+	private long[] times;
+	private int size = 0;
+	
+	// PUBLIC CONSTRUCTORS
+	
+	/**
+	 * Builds an empty trace.
+	 */
+	public TouchTrace(){
+		this(64);
+	}
+	/**
+	 * Builds an empty trace with room for the given number of actions.
+	 * @param capacity Initial capacity.
+	 */
+	public TouchTrace(int capacity){
+		actions = new byte[Math.max(capacity, 1)];
+		times = new long[actions.length];
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Appends an action. Times must not go back, an earlier time is taken as
+	 * the time of the previous action.
+	 * @param action ACTION_DOWN, ACTION_UP, ACTION_CANCEL or ACTION_OUTSIDE.
+	 * @param time Milliseconds of the action.
+	 */
+	public synchronized void record(int action, long time){
+		if(action < ACTION_DOWN || action > ACTION_OUTSIDE)
+			throw new IllegalArgumentException("Unknown action " + action);
+		if(size == actions.length){
+			byte[] aux_actions = new byte[size * 2];
+			long[] aux_times = new long[size * 2];
+			System.arraycopy(actions, 0, aux_actions, 0, size);
+			System.arraycopy(times, 0, aux_times, 0, size);
+			actions = aux_actions;
+			times = aux_times;
+		}
+		if(size > 0 && time < times[size - 1])
+			time = times[size - 1];
+		actions[size] = (byte)action;
+		times[size] = time;
+		size++;
+	}
+	/**
+	 * Returns the number of actions.
+	 * @return Number of actions.
+	 */
+	public synchronized int size(){
+		return size;
+	}
+	/**
+	 * Returns an action.
+	 * @param i Position of the action.
+	 * @return Action code.
+	 */
+	public synchronized int getAction(int i){
+		checkPosition(i);
+		return actions[i];
+	}
+	/**
+	 * Returns the time of an action.
+	 * @param i Position of the action.
+	 * @return Milliseconds of the action.
+	 */
+	public synchronized long getTime(int i){
+		checkPosition(i);
+		return times[i];
+	}
+	/**
+	 * Removes all actions.
+	 */
+	public synchronized void clear(){
+		size = 0;
+	}
+	/**
+	 * Writes the trace in binary format. Stream is not closed.
+	 * @param out Output stream.
+	 * @throws IOException If stream fails or two consecutive actions are
+	 * 2^61 ms or more apart.
+	 */
+	public synchronized void writeTo(OutputStream out) throws IOException{
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeLong(size > 0 ? times[0] : 0);
+		writeVarint(data, size);
+		for(int i = 0; i < size; i++){
+			long delta = i > 0 ? times[i] - times[i - 1] : 0;
+			//negative if times are more than 2^63 apart
+			if(delta < 0 || delta > MAX_DELTA)
+				throw new IOException("Actions " + (i - 1) + " and " + i + " are too far apart");
+			writeVarint(data, (delta << 2) | actions[i]);
+		}
+		data.flush();
+	}
+	/**
+	 * Reads a trace written by writeTo(..). Stream is not closed.
+	 * @param in Input stream.
+	 * @return Read trace.
+	 * @throws IOException If stream fails or it is not a trace.
+	 */
+	public static TouchTrace readFrom(InputStream in) throws IOException{
+		DataInputStream data = new DataInputStream(in);
+		if(data.readInt() != MAGIC)
+			throw new IOException("Not a touch trace");
+		int version = data.readUnsignedByte();
+		if(version != VERSION)
+			throw new IOException("Unknown touch trace version " + version);
+		long time = data.readLong();
+		long count = readVarint(data);
+		if(count > Integer.MAX_VALUE)
+			throw new IOException("Touch trace too long");
+		TouchTrace trace = new TouchTrace((int)Math.min(count, 1 << 16));
+		for(long i = 0; i < count; i++){
+			long entry = readVarint(data);
+			time += entry >>> 2;
+			trace.record((int)(entry & 3), time);
+		}
+		return trace;
+	}
+	
+	// PRIVATE METHODS
+	
+	private void checkPosition(int i){
+		if(i < 0 || i >= size)
+			throw new IndexOutOfBoundsException("Action " + i + " of " + size);
+	}
+	/*
+	 * Writes an unsigned value 7 bits per byte, high bit set on every byte
+	 * but the last one.
+	 */
+	private static void writeVarint(DataOutputStream data, long value) throws IOException{
+		while((value & ~0x7FL) != 0){
+			data.writeByte((int)(value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		data.writeByte((int)value);
+	}
+	private static long readVarint(DataInputStream data) throws IOException{
+		long value = 0;
+		for(int shift = 0; shift < 64; shift += 7){
+			int b = data.readUnsignedByte();
+			value |= (long)(b & 0x7F) << shift;
+			if((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed varint");
+	}
+}
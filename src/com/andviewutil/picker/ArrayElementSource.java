@@ -0,0 +1,60 @@
+//	LICENSE:
+//	ArrayElementSource.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.io.Serializable;
+
+/**
+ * Element source backed by an array.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public class ArrayElementSource implements ElementSource, Serializable {
+
+	// PRIVATE ATTRIBUTES
+	
+	private static final long serialVersionUID = 13L;
+	/*elements*/
+	private final Object[] elements;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Sole constructor.
+	 * @param elements Elements of the source, the array is not copied.
+	 */
+	public ArrayElementSource(Object[] elements){
+		this.elements = elements;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns the array of elements.
+	 * @return Elements.
+	 */
+	public Object[] getArray(){
+		return elements;
+	}
+	public int size() {
+		return elements.length;
+	}
+	public Object get(int index) {
+		return elements[index];
+	}
+	public void setCurrentIndex(int index) {}
+}
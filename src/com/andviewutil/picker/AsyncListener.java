@@ -0,0 +1,235 @@
+//	LICENSE:
+//	AsyncListener.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers picker events to a listener on an executor, out of UI thread.
+ * Events are queued on a bounded queue and delivered in order, one at a 
+ * time, even if the executor has several threads. Register it on a picker
+ * as any other listener; removing the wrapped listener removes it too.
+ * 
+ * Queueing an event does not create objects.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public final class AsyncListener implements ListenerWrapper{
+
+	/**
+	 * What to do when an event arrives and the queue is full.
+	 */
+	public enum QueuePolicy{
+		/**Oldest queued event is dropped*/
+		DROP_OLDEST,
+		/**New event is dropped, queued events are kept*/
+		DROP_NEWEST,
+		/**Newest queued event is replaced by the new one*/
+		COALESCE_LATEST,
+		/**Picker thread waits until there is room on the queue, oldest is
+		 * dropped if executor failed and nothing is draining it*/
+		BLOCK;
+	}
+	
+	// PRIVATE ATTRIBUTES
+	
+	/*user listener*/
+	private final OnPickerEventListener listener;
+	private final Executor executor;
+	private final QueuePolicy policy;
+	/*circular queue of events, cause is null on actualize events*/
+	private final int[] indices;
+	private final Cause[] causes;
+	/*position of first event and number of events*/
+	private int head = 0;
+	private int size = 0;
+	/*true while drain task is on executor*/
+	private boolean draining = false;
+	/*number of events dropped or coalesced*/
+	private long dropped = 0;
+	/*task that delivers queued events*/
+	private final Runnable drain_task = new Runnable(){
+		public void run() {
+			AsyncListener.this.drain();
+		}
+	};
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Sole constructor.
+	 * @param listener Listener whose events are delivered on executor.
+	 * @param executor Executor where events are delivered.
+	 * @param capacity Maximum number of queued events.
+	 * @param policy What to do when queue is full.
+	 */
+	public AsyncListener(OnPickerEventListener listener, Executor executor, int capacity, QueuePolicy policy){
+		if(capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be positive");
+		this.listener = listener;
+		this.executor = executor;
+		this.policy = policy;
+		this.indices = new int[capacity];
+		this.causes = new Cause[capacity];
+	}
+	
+	// PUBLIC METHODS
+	
+	public OnPickerEventListener getListener() {
+		return listener;
+	}
+	public void onElementPicked(int index, Cause cause) {
+		enqueue(index, cause);
+	}
+	public void onActualize(int index) {
+		enqueue(index, null);
+	}
+	/**
+	 * Returns number of events waiting for delivery.
+	 * @return Queue depth.
+	 */
+	public synchronized int getQueueDepth(){
+		return size;
+	}
+	/**
+	 * Returns number of events dropped or coalesced because queue was full.
+	 * @return Dropped events.
+	 */
+	public synchronized long getDroppedEvents(){
+		return dropped;
+	}
+	/**
+	 * Returns maximum number of queued events.
+	 * @return Capacity of queue.
+	 */
+	public int getCapacity(){
+		return indices.length;
+	}
+	
+	// PRIVATE METHODS
+	
+	private void enqueue(int index, Cause cause){
+		boolean start;
+		synchronized(this){
+			if(size == indices.length){
+				switch(policy){
+					case DROP_OLDEST:
+						head = (head + 1) % indices.length;
+						size--;
+						dropped++;
+						break;
+					case DROP_NEWEST:
+						dropped++;
+						return;
+					case COALESCE_LATEST:
+						int tail = (head + size - 1) % indices.length;
+						indices[tail] = index;
+						causes[tail] = cause;
+						dropped++;
+						return;
+					case BLOCK:
+						boolean interrupted = false;
+						while(size == indices.length && draining){
+							try{
+								wait();
+							} catch(InterruptedException e){
+								interrupted = true;
+							}
+						}
+						if(interrupted)
+							Thread.currentThread().interrupt();
+						//nobody drains if executor failed, oldest is dropped
+						if(size == indices.length){
+							head = (head + 1) % indices.length;
+							size--;
+							dropped++;
+						}
+						break;
+				}
+			}
+			int tail = (head + size) % indices.length;
+			indices[tail] = index;
+			causes[tail] = cause;
+			size++;
+			start = !draining;
+			draining = true;
+		}
+		if(start)
+			startDrain();
+	}
+	/*
+	 * Delivers queued events until queue is empty.
+	 */
+	private void drain(){
+		while(true){
+			int index;
+			Cause cause;
+			synchronized(this){
+				if(size == 0){
+					draining = false;
+					return;
+				}
+				index = indices[head];
+				cause = causes[head];
+				causes[head] = null;
+				head = (head + 1) % indices.length;
+				size--;
+				notifyAll();
+			}
+			boolean delivered = false;
+			try{
+				if(cause == null)
+					listener.onActualize(index);
+				else
+					listener.onElementPicked(index, cause);
+				delivered = true;
+			}
+			finally{
+				//if listener fails the rest of events are delivered on a new task
+				if(!delivered)
+					restartDrain();
+			}
+		}
+	}
+	private void restartDrain(){
+		synchronized(this){
+			if(size == 0){
+				draining = false;
+				return;
+			}
+		}
+		startDrain();
+	}
+	/*
+	 * Posts drain task. If executor fails, for example rejecting the task,
+	 * draining is reset so a later event posts it again.
+	 */
+	private void startDrain(){
+		boolean started = false;
+		try{
+			executor.execute(drain_task);
+			started = true;
+		}
+		finally{
+			if(!started)
+				synchronized(this){
+					draining = false;
+					notifyAll();
+				}
+		}
+	}
+}
@@ -0,0 +1,194 @@
+//	LICENSE:
+//	BitmapCache.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import android.graphics.Bitmap;
+
+/**
+ * Least recently used cache of decoded bitmaps, bounded by number of bitmaps
+ * and by bytes. It is safe to use it from several threads. Dropped bitmaps
+ * are not recycled, they may still be shown.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public class BitmapCache {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*cache shared by pickers without their own cache*/
+	private static BitmapCache shared;
+	/*maximum number of bitmaps*/
+	private final int max_size;
+	/*maximum bytes of all bitmaps*/
+	private final long max_bytes;
+	/*bytes of cached bitmaps*/
+	private long bytes = 0;
+	/*bitmaps in access order, eldest first*/
+	private final LinkedHashMap<Long, Bitmap> bitmaps;
+	/*statistics of get(..)*/
+	private long hits = 0;
+	private long misses = 0;
+	
+	// PUBLIC CONSTRUCTORS
+	
+	/**
+	 * Builds a cache bounded by number of bitmaps.
+	 * @param max_size Maximum number of bitmaps kept.
+	 */
+	public BitmapCache(int max_size){
+		this(max_size, Long.MAX_VALUE);
+	}
+	/**
+	 * Builds a cache bounded by number of bitmaps and bytes.
+	 * @param max_size Maximum number of bitmaps kept.
+	 * @param max_bytes Maximum bytes of all bitmaps kept.
+	 */
+	public BitmapCache(int max_size, long max_bytes){
+		if(max_size <= 0 || max_bytes <= 0)
+			throw new IllegalArgumentException("Cache size must be positive");
+		this.max_size = max_size;
+		this.max_bytes = max_bytes;
+		this.bitmaps = new LinkedHashMap<Long, Bitmap>(16, 0.75f, true);
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns the cache shared by all pickers without their own cache. By
+	 * default it is bounded to an eighth of the maximum memory.
+	 * @return Shared cache.
+	 */
+	public static synchronized BitmapCache getShared(){
+		if(shared == null)
+			shared = new BitmapCache(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8);
+		return shared;
+	}
+	/**
+	 * Sets the cache shared by all pickers without their own cache.
+	 * @param cache Shared cache.
+	 */
+	public static synchronized void setShared(BitmapCache cache){
+		shared = cache;
+	}
+	/**
+	 * Returns a cached bitmap and counts the hit or miss.
+	 * @param key Key of the bitmap.
+	 * @return Bitmap or null if it is not cached.
+	 */
+	public synchronized Bitmap get(long key){
+		Bitmap bitmap = bitmaps.get(key);
+		if(bitmap == null)
+			misses++;
+		else
+			hits++;
+		return bitmap;
+	}
+	/**
+	 * Asks if a bitmap is cached. It does not count as hit nor miss.
+	 * @param key Key of the bitmap.
+	 * @return true if it is cached, false otherwise.
+	 */
+	public synchronized boolean contains(long key){
+		return bitmaps.containsKey(key);
+	}
+	/**
+	 * Caches a bitmap, least recently used bitmaps are dropped if cache is 
+	 * full.
+	 * @param key Key of the bitmap.
+	 * @param bitmap Bitmap to cache.
+	 */
+	public synchronized void put(long key, Bitmap bitmap){
+		Bitmap old = bitmaps.put(key, bitmap);
+		if(old != null)
+			bytes -= sizeOf(old);
+		bytes += sizeOf(bitmap);
+		//drop eldest bitmaps, last one is kept even if it is over budget
+		Iterator<Bitmap> eldest = bitmaps.values().iterator();
+		while(bitmaps.size() > 1 && (bitmaps.size() > max_size || bytes > max_bytes)){
+			bytes -= sizeOf(eldest.next());
+			eldest.remove();
+		}
+	}
+	/**
+	 * Drops all bitmaps.
+	 */
+	public synchronized void clear(){
+		bitmaps.clear();
+		bytes = 0;
+	}
+	/**
+	 * Returns bytes of cached bitmaps.
+	 * @return Bytes of all bitmaps.
+	 */
+	public synchronized long getBytes(){
+		return bytes;
+	}
+	/**
+	 * Returns maximum bytes of cached bitmaps.
+	 * @return Maximum bytes.
+	 */
+	public long getMaxBytes(){
+		return max_bytes;
+	}
+	/**
+	 * Builds a key of a resource decoded to fit some dimensions.
+	 * @param id Resource identifier.
+	 * @param width Target width, 0 if it is decoded at full size.
+	 * @param height Target height, 0 if it is decoded at full size.
+	 * @return Key of the bitmap.
+	 */
+	public static long key(int id, int width, int height){
+		return ((long)id << 32) | ((long)(width & 0xFFFF) << 16) | (height & 0xFFFF);
+	}
+	/**
+	 * Returns number of cached bitmaps.
+	 * @return Number of bitmaps.
+	 */
+	public synchronized int size(){
+		return bitmaps.size();
+	}
+	/**
+	 * Returns maximum number of cached bitmaps.
+	 * @return Maximum number of bitmaps.
+	 */
+	public int getMaxSize(){
+		return max_size;
+	}
+	/**
+	 * Returns number of get(..) calls that found the bitmap.
+	 * @return Number of hits.
+	 */
+	public synchronized long getHits(){
+		return hits;
+	}
+	/**
+	 * Returns number of get(..) calls that did not find the bitmap.
+	 * @return Number of misses.
+	 */
+	public synchronized long getMisses(){
+		return misses;
+	}
+	
+	// PRIVATE METHODS
+	
+	private static long sizeOf(Bitmap bitmap){
+		return (long)bitmap.getRowBytes() * bitmap.getHeight();
+	}
+}
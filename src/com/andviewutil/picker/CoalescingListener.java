@@ -0,0 +1,175 @@
+//	LICENSE:
+//	CoalescingListener.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import com.andviewutil.timer.Clock;
+import com.andviewutil.timer.ScheduledTask;
+import com.andviewutil.timer.TaskScheduler;
+
+/**
+ * Throttles or debounces the events delivered to a listener, following a
+ * DeliveryPolicy.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+final class CoalescingListener implements ListenerWrapper{
+
+	// PRIVATE ATTRIBUTES
+	
+	/*all causes, values() copies the array on every call*/
+	private static final Cause[] CAUSES = Cause.values();
+	/*picker whose index is delivered*/
+	private final PickerCore picker;
+	/*user listener*/
+	private final OnPickerEventListener listener;
+	private final DeliveryPolicy policy;
+	private final TaskScheduler scheduler;
+	/*number of coalesced events by cause*/
+	private final int[] cause_counts = new int[CAUSES.length];
+	/*sequence number of the last coalesced event of each cause*/
+	private final long[] cause_sequences = new long[CAUSES.length];
+	private long sequence = 0;
+	/*kind of events waiting for delivery*/
+	private boolean picked_pending = false;
+	private boolean actualize_pending = false;
+	/*true while a throttle interval is running*/
+	private boolean throttling = false;
+	/*pending end of interval, a debounce keeps one and moves its deadline*/
+	private ScheduledTask timer;
+	/*uptime when debounce interval ends*/
+	private long deadline;
+	private final Runnable timer_task = new Runnable(){
+		public void run() {
+			CoalescingListener.this.onTimer();
+		}
+	};
+	
+	// CONSTRUCTOR
+	
+	CoalescingListener(PickerCore picker, OnPickerEventListener listener, DeliveryPolicy policy){
+		this.picker = picker;
+		this.listener = listener;
+		this.policy = policy;
+		this.scheduler = policy.getScheduler() != null ? policy.getScheduler() : picker.getHost().getScheduler();
+	}
+	
+	// PUBLIC METHODS
+	
+	public OnPickerEventListener getListener() {
+		return listener;
+	}
+	public void onElementPicked(int index, Cause cause) {
+		enqueue(cause, false);
+	}
+	public void onActualize(int index) {
+		enqueue(null, true);
+	}
+	
+	// PRIVATE METHODS
+	
+	/*
+	 * Records an event and starts or restarts the interval.
+	 */
+	private void enqueue(Cause cause, boolean actualize){
+		boolean deliver_now = false;
+		synchronized(this){
+			if(cause != null){
+				cause_counts[cause.ordinal()]++;
+				cause_sequences[cause.ordinal()] = ++sequence;
+				picked_pending = true;
+			}
+			if(actualize)
+				actualize_pending = true;
+			if(policy.getMode() == DeliveryPolicy.Mode.THROTTLE){
+				if(!throttling){
+					throttling = true;
+					deliver_now = true;
+					timer = scheduler.schedule(timer_task, policy.getInterval());
+				}
+			}
+			else{
+				//pending timer is kept, it is armed again if it ends early
+				deadline = uptimeMillis() + policy.getInterval();
+				if(timer == null)
+					timer = scheduler.schedule(timer_task, policy.getInterval());
+			}
+		}
+		if(deliver_now)
+			deliver();
+	}
+	/*
+	 * End of interval. Throttle keeps running while events arrive, debounce
+	 * waits again if events moved its deadline.
+	 */
+	private void onTimer(){
+		synchronized(this){
+			timer = null;
+			if(policy.getMode() == DeliveryPolicy.Mode.DEBOUNCE){
+				long rest = deadline - uptimeMillis();
+				if(rest > 0){
+					timer = scheduler.schedule(timer_task, rest);
+					return;
+				}
+			}
+			else if(policy.getMode() == DeliveryPolicy.Mode.THROTTLE){
+				if(picked_pending || actualize_pending)
+					timer = scheduler.schedule(timer_task, policy.getInterval());
+				else
+					throttling = false;
+			}
+		}
+		deliver();
+	}
+	/*
+	 * Delivers coalesced events with current index of picker.
+	 */
+	private void deliver(){
+		boolean picked, actualized;
+		Cause cause = null;
+		synchronized(this){
+			picked = picked_pending;
+			actualized = actualize_pending;
+			if(picked){
+				//most frequent cause, the latest one on a tie
+				int best = -1;
+				for(int i = 0; i < cause_counts.length; i++)
+					if(cause_counts[i] > 0 && (best < 0 || cause_counts[i] > cause_counts[best]
+							|| (cause_counts[i] == cause_counts[best] && cause_sequences[i] > cause_sequences[best])))
+						best = i;
+				cause = CAUSES[best];
+				for(int i = 0; i < cause_counts.length; i++)
+					cause_counts[i] = 0;
+			}
+			picked_pending = false;
+			actualize_pending = false;
+		}
+		int index = picker.getIndex();
+		if(picked)
+			listener.onElementPicked(index, cause);
+		if(actualized)
+			listener.onActualize(index);
+	}
+	/*
+	 * Time of the scheduler if it is a clock, as a manual scheduler, else
+	 * time of the picker host.
+	 */
+	private long uptimeMillis(){
+		if(scheduler instanceof Clock)
+			return ((Clock)scheduler).uptimeMillis();
+		return picker.getHost().uptimeMillis();
+	}
+}
@@ -0,0 +1,135 @@
+//	LICENSE:
+//	DeliveryPolicy.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import com.andviewutil.timer.TaskScheduler;
+
+/**
+ * Policy of delivery of picker events to a listener. Events can be 
+ * delivered immediately, throttled to one delivery per interval or
+ * debounced until no event happens during an interval. Throttled and 
+ * debounced events are coalesced: the listener receives the index of the
+ * picker at delivery time and the most frequent cause of the coalesced
+ * events, the latest one on a tie.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public final class DeliveryPolicy {
+
+	/**
+	 * Modes of delivery.
+	 */
+	public enum Mode{
+		/**Every event is delivered when it happens*/
+		IMMEDIATE,
+		/**First event is delivered when it happens, next ones are coalesced
+		 * and delivered at the end of the interval*/
+		THROTTLE,
+		/**Events are coalesced and delivered once no event happens during
+		 * the interval*/
+		DEBOUNCE;
+	}
+	
+	/** delivers every event when it happens */
+	public static final DeliveryPolicy IMMEDIATE = new DeliveryPolicy(Mode.IMMEDIATE, 0, null);
+	
+	// PRIVATE ATTRIBUTES
+	
+	private final Mode mode;
+	/*milliseconds of throttle or debounce interval*/
+	private final long interval;
+	/*scheduler of delayed deliveries, null to use the scheduler of the picker host*/
+	private final TaskScheduler scheduler;
+	
+	// PRIVATE CONSTRUCTOR
+	
+	private DeliveryPolicy(Mode mode, long interval, TaskScheduler scheduler){
+		this.mode = mode;
+		this.interval = interval;
+		this.scheduler = scheduler;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns a policy that delivers at most one event per interval. Delayed
+	 * events are delivered on the scheduler of the picker host.
+	 * @param interval Milliseconds between deliveries.
+	 * @return Throttle policy.
+	 */
+	public static DeliveryPolicy throttle(long interval){
+		return throttle(interval, null);
+	}
+	/**
+	 * Returns a policy that delivers at most one event per interval.
+	 * @param interval Milliseconds between deliveries.
+	 * @param scheduler Scheduler where delayed events are delivered.
+	 * @return Throttle policy.
+	 */
+	public static DeliveryPolicy throttle(long interval, TaskScheduler scheduler){
+		return new DeliveryPolicy(Mode.THROTTLE, checkInterval(interval), scheduler);
+	}
+	/**
+	 * Returns a policy that delivers events once no event happens during 
+	 * the interval. Events are delivered on the scheduler of the picker host.
+	 * @param interval Milliseconds without events before delivery.
+	 * @return Debounce policy.
+	 */
+	public static DeliveryPolicy debounce(long interval){
+		return debounce(interval, null);
+	}
+	/**
+	 * Returns a policy that delivers events once no event happens during 
+	 * the interval.
+	 * @param interval Milliseconds without events before delivery.
+	 * @param scheduler Scheduler where events are delivered.
+	 * @return Debounce policy.
+	 */
+	public static DeliveryPolicy debounce(long interval, TaskScheduler scheduler){
+		return new DeliveryPolicy(Mode.DEBOUNCE, checkInterval(interval), scheduler);
+	}
+	/**
+	 * Returns mode of delivery.
+	 * @return Mode.
+	 */
+	public Mode getMode(){
+		return mode;
+	}
+	/**
+	 * Returns interval of throttle or debounce.
+	 * @return Milliseconds of interval, 0 on immediate delivery.
+	 */
+	public long getInterval(){
+		return interval;
+	}
+	/**
+	 * Returns scheduler of delayed deliveries.
+	 * @return Scheduler or null if events are delivered on the scheduler of
+	 * the picker host.
+	 */
+	public TaskScheduler getScheduler(){
+		return scheduler;
+	}
+	
+	// PRIVATE METHODS
+	
+	private static long checkInterval(long interval){
+		if(interval <= 0)
+			throw new IllegalArgumentException("Interval must be positive");
+		return interval;
+	}
+}
@@ -18,7 +18,7 @@ package com.andviewutil.picker;
 import android.view.View;
 
 /**
- * A picker that picks elements from an array of elements.
+ * A picker that picks elements from a source of elements.
  * @author GuillermoBlascoJimenez
  * @version 1.1 Picker
  * @version 1.2 AndViewUtils
@@ -28,22 +28,30 @@ public abstract class ElementPicker extends Picker {
 	// PRIVATE ATTRIBUTES
 	
 	private static final long serialVersionUID = 12L;
-	/*Elements to pick*/
-	private Object[] elements;
+	/*Source of elements to pick*/
+	private ElementSource source;
 	
-	// PUBLIC CONSTRUCTOR
+	// PUBLIC CONSTRUCTORS
 	
 	/**
-	 * Sole constructor. Picker dimension is fixed.
+	 * Builds a picker of the elements of an array. Picker dimension is fixed.
 	 * @param up_button The view with the function of up.
 	 * @param down_button The view with the function of down.
 	 * @param elements Elements to pick.
 	 */
 	public ElementPicker(View up_button, View down_button, Object[] elements) {
+		this(up_button, down_button, new ArrayElementSource(elements));
+	}
+	/**
+	 * Builds a picker of the elements of a source. Picker dimension is fixed.
+	 * @param up_button The view with the function of up.
+	 * @param down_button The view with the function of down.
+	 * @param source Source of elements to pick, not empty.
+	 */
+	public ElementPicker(View up_button, View down_button, ElementSource source) {
 		super(up_button, down_button);
-		this.elements = elements;
-		super.setMax(elements.length-1);
-		super.setMin(0);
+		this.source = source;
+		super.setBounds(0, lastIndex(source));
 	}
 
 	// PUBLIC METHODS
@@ -53,16 +61,63 @@ public abstract class ElementPicker extends Picker {
 	 * @return Current element.
 	 */
 	public Object getCurrentElement() {
-		return elements[getIndex()];
+		return source.get(getIndex());
 	}
 	/**
-	 * Returns all elements.
-	 * @return All elements.
+	 * Returns all elements if they are held in an array.
+	 * @return All elements or null if source of elements is not an array.
 	 */
 	public Object[] getElements(){
-		return elements;
+		if(source instanceof ArrayElementSource)
+			return ((ArrayElementSource)source).getArray();
+		return null;
 	}
+	/**
+	 * Sets an array of elements to pick.
+	 * @param elements Elements to pick.
+	 */
 	public void setElements(Object[] elements){
-		this.elements = elements;
+		this.setElementSource(new ArrayElementSource(elements));
+	}
+	/**
+	 * Returns the source of elements.
+	 * @return Source of elements.
+	 */
+	public ElementSource getElementSource(){
+		return source;
+	}
+	/**
+	 * Sets the source of elements to pick. Maximum index is set to the last
+	 * element of the source.
+	 * @param source Source of elements to pick, not empty.
+	 */
+	public void setElementSource(ElementSource source){
+		int max = lastIndex(source);
+		this.source = source;
+		super.setBounds(0, max);
+		super.check(Math.min(getIndex(), getMax()));
+		//new source is told the index even if it has not changed
+		source.setCurrentIndex(getIndex());
+	}
+	
+	// PROTECTED METHODS
+	
+	/**
+	 * Tells the new index to the source of elements and publishes it. Called
+	 * on every index change, by clicks, long clicks, steps and edits.
+	 */
+	@Override
+	protected void indexChanged(){
+		if(source != null)
+			source.setCurrentIndex(getIndex());
+		super.indexChanged();
+	}
+	
+	// PRIVATE METHODS
+	
+	private static int lastIndex(ElementSource source){
+		if(source.size() < 1)
+			throw new IllegalArgumentException("Element source is empty");
+		return source.size() - 1;
 	}
 }
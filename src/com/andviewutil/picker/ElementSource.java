@@ -0,0 +1,44 @@
+//	LICENSE:
+//	ElementSource.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+/**
+ * Source of the elements of an ElementPicker. Elements are asked by index,
+ * so a source does not need to hold all of them in memory.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public interface ElementSource {
+
+	/**
+	 * Returns number of elements.
+	 * @return Number of elements.
+	 */
+	public int size();
+	/**
+	 * Returns the element at the given index.
+	 * @param index Index between 0 and size()-1, both included.
+	 * @return Element.
+	 */
+	public Object get(int index);
+	/**
+	 * Called by the picker when its index changes. Sources may use it to
+	 * keep only the elements around the index.
+	 * @param index Current index of the picker.
+	 */
+	public void setCurrentIndex(int index);
+}
@@ -0,0 +1,331 @@
+//	LICENSE:
+//	FixedPointPicker.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * This picker shows values of a long range stepped by a fixed step, like 
+ * identifiers, timestamps or decimal amounts. Values are fixed point longs,
+ * with scale digits after the decimal point: value 105 with scale 2 is 
+ * shown as 1.05. Values are never boxed.
+ * 
+ * The index of this picker is the number of steps from the minimum value,
+ * saturated to int on getIndex() and listener events. Use getValue() to
+ * know the whole value.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public class FixedPointPicker extends Picker {
+
+	// PRIVATE ATTRIBUTES
+	
+	private static final long serialVersionUID = 13L;
+	/*maximum scale, 10^18 is the greatest power of ten on a long*/
+	private static final int MAX_SCALE = 18;
+	/*TextView where value is shown*/
+	private transient TextView text;
+	/*range of values, in units of 10^-scale*/
+	private long min_value = 0;
+	private long step = 1;
+	/*
+	 * Last position of the range. Positions are unsigned longs, so ranges
+	 * of up to 2^64 values are held.
+	 */
+	private long last = 99;
+	/*digits after decimal point*/
+	private int scale = 0;
+	/*current value, as steps from min_value, unsigned*/
+	private long position = 0;
+	/*buffer where shown text is written, reused on every actualization*/
+	private transient char[] text_buffer;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Sole constructor. Range is [0, 99] with step 1 and scale 0, 
+	 * setRange(..) should be called after constructor.
+	 * @param up_button View with up function.
+	 * @param down_button View with down function.
+	 * @param text TextView where value is shown.
+	 */
+	public FixedPointPicker(View up_button, View down_button, TextView text){
+		super(up_button, down_button);
+		this.text = text;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Sets the range of values. If max is not reached from min by steps the
+	 * last value is the greatest one lesser than max. Current value is kept
+	 * if it is inside the new range. Any range of longs is admitted.
+	 * @param min Minimum value, in units of 10^-scale.
+	 * @param max Maximum value, in units of 10^-scale.
+	 * @param step Difference between consecutive values, must be positive.
+	 */
+	public void setRange(long min, long max, long step){
+		if(step <= 0 || min >= max)
+			throw new IllegalArgumentException("Wrong range [" + min + ", " + max + "] by " + step);
+		long value = getValue();
+		long old_position = position;
+		this.min_value = min;
+		this.step = step;
+		//max - min is read unsigned, so wide ranges do not overflow
+		this.last = divideUnsigned(max - min, step);
+		this.position = clamp(value <= min ? 0 : divideUnsigned(value - min, step));
+		if(position != old_position)
+			this.indexChanged();
+		if(getValue() != value && hasTextView())
+			this.actualizeView();
+	}
+	/**
+	 * Sets the number of digits after decimal point. Shown value is 
+	 * actualized.
+	 * @param scale Digits after decimal point, between 0 and 18.
+	 */
+	public void setScale(int scale){
+		if(scale < 0 || scale > MAX_SCALE)
+			throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE);
+		if(this.scale != scale){
+			this.scale = scale;
+			if(hasTextView())
+				this.actualizeView();
+		}
+	}
+	/**
+	 * Returns number of digits after decimal point.
+	 * @return Scale.
+	 */
+	public int getScale(){
+		return scale;
+	}
+	/**
+	 * Returns minimum value.
+	 * @return Minimum value, in units of 10^-scale.
+	 */
+	public long getMinValue(){
+		return min_value;
+	}
+	/**
+	 * Returns maximum value.
+	 * @return Maximum value, in units of 10^-scale.
+	 */
+	public long getMaxValue(){
+		return min_value + last * step;
+	}
+	/**
+	 * Returns difference between consecutive values.
+	 * @return Step, in units of 10^-scale.
+	 */
+	public long getStep(){
+		return step;
+	}
+	/**
+	 * Returns current value.
+	 * @return Current value, in units of 10^-scale.
+	 */
+	public long getValue(){
+		return min_value + position * step;
+	}
+	/**
+	 * Sets current value. Values between steps are rounded down to a step,
+	 * values out of range are set to the nearest bound.
+	 * @param value New value, in units of 10^-scale.
+	 */
+	public void setValue(long value){
+		elementPickedPerformed(OnPickerEventListener.Cause.INTERNAL);
+		long new_position = value <= min_value ? 0 : clamp(divideUnsigned(value - min_value, step));
+		if(new_position != position){
+			position = new_position;
+			this.indexChanged();
+			this.actualizeView();
+		}
+	}
+	/**
+	 * Returns number of steps from minimum value, saturated to int.
+	 * @return Current index.
+	 */
+	@Override
+	public int getIndex(){
+		return saturate(position);
+	}
+	/**
+	 * Returns 0, index of minimum value.
+	 * @return Minimum index.
+	 */
+	@Override
+	public int getMin(){
+		return 0;
+	}
+	/**
+	 * Returns index of maximum value, saturated to int.
+	 * @return Maximum index.
+	 */
+	@Override
+	public int getMax(){
+		return saturate(last);
+	}
+	/**
+	 * Returns the output text view.
+	 * @return Output text view.
+	 */
+	public TextView getTextView(){
+		return text;
+	}
+	/**
+	 * Sets the output text view.
+	 * @param text Output text view.
+	 */
+	public void setTextView(TextView text){
+		this.text = text;
+	}
+	/**
+	 * Asks if has output text view.
+	 * @return true if has, false if not.
+	 */
+	public boolean hasTextView(){
+		return this.text != null;
+	}
+	
+	// PROTECTED METHODS
+	
+	/**
+	 * Sets the given number of steps from minimum value as current value.
+	 * @param new_value Steps from minimum value.
+	 * @return true if value has changed.
+	 */
+	@Override
+	protected boolean check(int new_value){
+		long new_position;
+		if(new_value >= 0)
+			new_position = isCyclic() ? wrap(new_value) : clamp(new_value);
+		else
+			new_position = isCyclic() ? last - wrap(-(long)new_value - 1) : 0;
+		boolean ret = position != new_position;
+		position = new_position;
+		if(ret)
+			this.indexChanged();
+		return ret;
+	}
+	/**
+	 * Moves value the given number of steps. Costs the same for any delta.
+	 * @param delta Number of steps, negative to move down.
+	 * @return true if value has changed.
+	 */
+	@Override
+	protected boolean stepIndex(int delta){
+		long new_position;
+		if(delta >= 0){
+			long up = last - position;
+			if(!lesser(up, delta))
+				new_position = position + delta;
+			else
+				new_position = isCyclic() ? wrap(delta - up - 1) : last;
+		}
+		else{
+			long down = -(long)delta;
+			if(!lesser(position, down))
+				new_position = position - down;
+			else
+				new_position = isCyclic() ? last - wrap(down - position - 1) : 0;
+		}
+		boolean ret = position != new_position;
+		position = new_position;
+		if(ret)
+			this.indexChanged();
+		return ret;
+	}
+	/**
+	 * Actualizes the TextView object.
+	 */
+	@Override
+	protected void actualize() {
+		if(!hasTextView())
+			throw new NullPointerException("Can't actualize without output text view");
+		int length = format(getValue());
+		this.text.setText(text_buffer, text_buffer.length - length, length);
+	}
+	
+	// PRIVATE METHODS
+	
+	/*
+	 * Clamps an unsigned position into the range.
+	 */
+	private long clamp(long new_position){
+		return lesser(last, new_position) ? last : new_position;
+	}
+	/*
+	 * Wraps a non negative count of steps into the range.
+	 */
+	private long wrap(long count){
+		//last is unsigned, when it is negative every count is inside
+		if(last < 0 || count <= last)
+			return count;
+		return count % (last + 1);
+	}
+	/*
+	 * Compares a and b as unsigned longs.
+	 */
+	private static boolean lesser(long a, long b){
+		return a + Long.MIN_VALUE < b + Long.MIN_VALUE;
+	}
+	/*
+	 * Divides dividend, read as unsigned, by a positive divisor. Result is
+	 * unsigned too.
+	 */
+	private static long divideUnsigned(long dividend, long divisor){
+		if(dividend >= 0)
+			return dividend / divisor;
+		//halve the dividend to divide on signed longs, then fix the remainder
+		long quotient = ((dividend >>> 1) / divisor) << 1;
+		long remainder = dividend - quotient * divisor;
+		//remainder is lesser than 2 * divisor, compare it unsigned
+		if(!lesser(remainder, divisor))
+			quotient++;
+		return quotient;
+	}
+	/*
+	 * Saturates an unsigned position to int.
+	 */
+	private static int saturate(long value){
+		return value < 0 || value > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)value;
+	}
+	/*
+	 * Writes value at the end of text buffer with scale digits after decimal
+	 * point. Returns number of chars written.
+	 */
+	private int format(long value){
+		if(text_buffer == null)
+			text_buffer = new char[MAX_SCALE + 22];
+		//digits are taken from a non positive value, so Long.MIN_VALUE fits
+		long rest = value < 0 ? value : -value;
+		int pos = text_buffer.length;
+		int digits = 0;
+		do{
+			if(digits == scale && scale > 0)
+				text_buffer[--pos] = '.';
+			text_buffer[--pos] = (char)('0' - rest % 10);
+			rest /= 10;
+			digits++;
+		}while(rest != 0 || digits <= scale);
+		if(value < 0)
+			text_buffer[--pos] = '-';
+		return text_buffer.length - pos;
+	}
+}
@@ -0,0 +1,112 @@
+//	LICENSE:
+//	HeadlessPickerHost.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import com.andviewutil.timer.Clock;
+import com.andviewutil.timer.FrameScheduler;
+import com.andviewutil.timer.ManualScheduler;
+import com.andviewutil.timer.MonotonicClock;
+import com.andviewutil.timer.SharedThreadScheduler;
+import com.andviewutil.timer.TaskScheduler;
+
+/**
+ * Host that runs a PickerCore on a plain JVM, without views. Buttons are
+ * pressed and released by hand, frames are run as soon as they are posted
+ * and log is discarded. Used to run pickers on simulations and benchmarks,
+ * with a ManualScheduler repeats are run without waiting.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public class HeadlessPickerHost implements PickerHost, FrameScheduler {
+	
+	// PRIVATE ATTRIBUTES
+	
+	/*pressed state of up and down buttons*/
+	private volatile boolean up_pressed = false;
+	private volatile boolean down_pressed = false;
+	/*scheduler of repeats*/
+	private final TaskScheduler scheduler;
+	/*clock of repeats*/
+	private final Clock clock;
+	
+	// PUBLIC CONSTRUCTORS
+	
+	/**
+	 * Builds a host that runs repeats on the shared timer thread.
+	 */
+	public HeadlessPickerHost(){
+		this(SharedThreadScheduler.getInstance());
+	}
+	/**
+	 * Builds a host that runs repeats on the given scheduler.
+	 * @param scheduler Scheduler of repeats.
+	 */
+	public HeadlessPickerHost(TaskScheduler scheduler){
+		this(scheduler, MonotonicClock.getInstance());
+	}
+	/**
+	 * Builds a host that runs repeats on the given manual scheduler, time is
+	 * the one of the scheduler.
+	 * @param scheduler Manual scheduler, used as scheduler and clock.
+	 */
+	public HeadlessPickerHost(ManualScheduler scheduler){
+		this(scheduler, scheduler);
+	}
+	/**
+	 * Builds a host that runs repeats on the given scheduler and clock.
+	 * @param scheduler Scheduler of repeats.
+	 * @param clock Clock of repeats.
+	 */
+	public HeadlessPickerHost(TaskScheduler scheduler, Clock clock){
+		this.scheduler = scheduler;
+		this.clock = clock;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Sets if a button is pressed.
+	 * @param button UP_BUTTON or DOWN_BUTTON.
+	 * @param pressed true to press it, false to release it.
+	 */
+	public void setPressed(int button, boolean pressed){
+		if(button == UP_BUTTON)
+			up_pressed = pressed;
+		else
+			down_pressed = pressed;
+	}
+	public boolean isPressed(int button) {
+		return button == UP_BUTTON ? up_pressed : down_pressed;
+	}
+	public long uptimeMillis() {
+		return clock.uptimeMillis();
+	}
+	public TaskScheduler getScheduler() {
+		return scheduler;
+	}
+	public FrameScheduler getFrameScheduler() {
+		return this;
+	}
+	/**
+	 * Runs the task immediately, there is no display to wait for.
+	 * @param task Task to run.
+	 */
+	public void postFrame(Runnable task) {
+		task.run();
+	}
+	public void log(String message) {}
+}
@@ -0,0 +1,32 @@
+//	LICENSE:
+//	ListenerWrapper.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+/**
+ * Listener registered on a picker in place of a user listener, to change
+ * how events are delivered to it.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+interface ListenerWrapper extends OnPickerEventListener{
+	
+	/**
+	 * Returns the wrapped listener.
+	 * @return User listener.
+	 */
+	public OnPickerEventListener getListener();
+}
@@ -28,15 +28,34 @@ import android.widget.TextView;
  */
 public class NumberPicker extends Picker{
 
+	/** input can still become a number inside bounds */
+	public static final int INPUT_INCOMPLETE = 0;
+	/** input is a number inside bounds */
+	public static final int INPUT_VALID = 1;
+	/** input can not become a number inside bounds */
+	public static final int INPUT_IMPOSSIBLE = 2;
+	
 	// PRIVATE ATTRIBUTES
 	
 	private static final long serialVersionUID = 12L;
+	/*results of parsing an input*/
+	private static final int PARSE_OK = 0;
+	private static final int PARSE_EMPTY = 1;
+	private static final int PARSE_NOT_A_NUMBER = 2;
+	private static final int PARSE_OVERFLOW = 3;
 	/*TextView where info is shown*/
 	private transient TextView text;
 	/*flag to avoid recursive call on edit text*/
 	private boolean internal_edit = false;
 	/*max string size*/
 	private int max_string_size;
+	/*buffer where shown text is written, reused on every actualization*/
+	private transient char[] text_buffer;
+	/*value of last input parsed with PARSE_OK*/
+	private int parsed_value;
+	/*sign and digits of last input parsed with PARSE_OK or PARSE_EMPTY*/
+	private boolean parsed_negative;
+	private long parsed_magnitude;
 	// PUBLIC CONSTRUCTOR
 	
 	/**
@@ -51,7 +70,7 @@ public class NumberPicker extends Picker{
 		this.text = text;
 		text.addTextChangedListener(new TextWatcher(){
 			public void afterTextChanged(Editable arg0) {
-				NumberPicker.this.onTextEdit(arg0.toString());
+				NumberPicker.this.onTextEdit((CharSequence)arg0);
 			}
 			public void beforeTextChanged(CharSequence arg0, int arg1,
 					int arg2, int arg3) {}
@@ -69,8 +88,15 @@ public class NumberPicker extends Picker{
 	 */
 	public void setBounds(int min, int max){
 		if(min < max){
-			super.setMin(min);
-			super.setMax(max);
+			//setMin(..) and setMax(..) keep min < max on every call
+			if(min > super.getMax()){
+				super.setMax(max);
+				super.setMin(min);
+			}
+			else{
+				super.setMin(min);
+				super.setMax(max);
+			}
 			max_string_size = Integer.toString(max).length();
 		}
 	}
@@ -99,20 +125,60 @@ public class NumberPicker extends Picker{
 	// PROTECTED METHODS
 
 	/**
-	 * Called when text has been edited. 
+	 * Called when text has been edited. Text edits are delivered to
+	 * onTextEdit(CharSequence) without creating a String, so this method is
+	 * final: overriding it would never be called. Override 
+	 * onTextEdit(CharSequence) instead.
 	 * @param input New string.
+	 * @deprecated Use onTextEdit(CharSequence).
+	 */
+	@Deprecated
+	protected final void onTextEdit(String input) {
+		this.onTextEdit((CharSequence)input);
+	}
+	/**
+	 * Validates an input, possibly incomplete. Costs O(digits) and does not
+	 * create objects.
+	 * @param input Text to validate.
+	 * @return INPUT_VALID if it is a number inside bounds, INPUT_INCOMPLETE
+	 * if adding digits it can become a number inside bounds or 
+	 * INPUT_IMPOSSIBLE otherwise.
 	 */
-	protected void onTextEdit(String input) {
+	public int validateInput(CharSequence input){
+		int result = parse(input);
+		if(result == PARSE_NOT_A_NUMBER || result == PARSE_OVERFLOW)
+			return INPUT_IMPOSSIBLE;
+		if(result == PARSE_OK && parsed_value >= super.getMin() && parsed_value <= super.getMax())
+			return INPUT_VALID;
+		return canBeCompleted() ? INPUT_INCOMPLETE : INPUT_IMPOSSIBLE;
+	}
+	/**
+	 * Called when text has been edited. Input is parsed without creating
+	 * objects. While input is incomplete nothing is done. A valid input is
+	 * picked and onActualize is fired without rewriting the text, view 
+	 * already shows it. An impossible input is corrected and view is 
+	 * actualized.
+	 * @param input New text.
+	 */
+	protected void onTextEdit(CharSequence input) {
 		//if is a internal edit ignore it to avoid recursive call.
-		if(!this.internal_edit) try{
-			int new_value = Integer.valueOf(input);
-			if(new_value > super.getMax() || new_value < super.getMin())
-				super.elementPickedPerformed(OnPickerEventListener.Cause.ON_EDIT_WRONG);
-			else
+		if(this.internal_edit)
+			return;
+		switch(validateInput(input)){
+			case INPUT_INCOMPLETE:
+				break;
+			case INPUT_VALID:
 				super.elementPickedPerformed(OnPickerEventListener.Cause.ON_EDIT_WELL);
-			if(super.check(new_value) || new_value != super.getIndex())
-				this.actualizeView();				
-		} catch(Exception e){}
+				super.check(this.parsed_value);
+				super.pickerActualizedPerformed();
+				break;
+			default:
+				super.elementPickedPerformed(OnPickerEventListener.Cause.ON_EDIT_WRONG);
+				if(parse(input) == PARSE_OK)
+					super.check(this.parsed_value);
+				this.actualizeView();
+				break;
+		}
 	}
 	/**
 	 * Actualizes the TextView object.
@@ -122,11 +188,93 @@ public class NumberPicker extends Picker{
 		if(!hasTextView())
 			throw new NullPointerException("Can't actualize without output text view");
 		this.internal_edit = true;
-		String show =Integer.toString(super.getIndex());
-		while(show.length() < this.max_string_size)
-			show = "0" + show;
-		this.text.setText(show);
+		int length = format(super.getIndex());
+		this.text.setText(text_buffer, text_buffer.length - length, length);
 		this.internal_edit = false;
 	}
+	
+	// PRIVATE METHODS
+	
+	/*
+	 * Writes value at the end of text buffer, padded with zeros up to max
+	 * string size. Returns number of chars written.
+	 */
+	private int format(int value){
+		if(text_buffer == null || text_buffer.length < Math.max(max_string_size, 11))
+			text_buffer = new char[Math.max(max_string_size, 11)];
+		long magnitude = Math.abs((long)value);
+		int width = value < 0 ? max_string_size - 1 : max_string_size;
+		int pos = text_buffer.length;
+		do{
+			text_buffer[--pos] = (char)('0' + magnitude % 10);
+			magnitude /= 10;
+		}while(magnitude > 0);
+		while(text_buffer.length - pos < width)
+			text_buffer[--pos] = '0';
+		if(value < 0)
+			text_buffer[--pos] = '-';
+		return text_buffer.length - pos;
+	}
+	/*
+	 * Parses an optionally signed decimal integer. On PARSE_OK the value is 
+	 * left on parsed_value. On PARSE_OK and PARSE_EMPTY sign and magnitude
+	 * are left on parsed_negative and parsed_magnitude.
+	 */
+	private int parse(CharSequence input){
+		int length = input.length();
+		int pos = 0;
+		boolean negative = false;
+		this.parsed_negative = false;
+		this.parsed_magnitude = 0;
+		if(length == 0)
+			return PARSE_EMPTY;
+		char first = input.charAt(0);
+		if(first == '-' || first == '+'){
+			negative = first == '-';
+			this.parsed_negative = negative;
+			if(++pos == length)
+				return PARSE_EMPTY;
+		}
+		long value = 0;
+		for(; pos < length; pos++){
+			int digit = input.charAt(pos) - '0';
+			if(digit < 0 || digit > 9)
+				return PARSE_NOT_A_NUMBER;
+			value = value * 10 + digit;
+			if(value > (long)Integer.MAX_VALUE + 1)
+				return PARSE_OVERFLOW;
+		}
+		this.parsed_magnitude = value;
+		if(negative)
+			value = -value;
+		if(value > Integer.MAX_VALUE)
+			return PARSE_OVERFLOW;
+		this.parsed_value = (int)value;
+		return PARSE_OK;
+	}
+	/*
+	 * Asks if adding digits to the last parsed input it can be inside bounds.
+	 * Adding k digits to magnitude m gives [m*10^k, m*10^k + 10^k - 1].
+	 */
+	private boolean canBeCompleted(){
+		long min = super.getMin(), max = super.getMax();
+		long bound = Math.max(Math.abs(min), Math.abs(max));
+		long magnitude = this.parsed_magnitude;
+		for(long scale = 10; ; scale *= 10){
+			if(magnitude > 0 && magnitude > bound / scale)
+				return false;
+			long low = magnitude * scale, high = low + scale - 1;
+			if(parsed_negative){
+				long aux = low;
+				low = -high;
+				high = -aux;
+			}
+			if(high >= min && low <= max)
+				return true;
+			//next digits only give greater magnitudes
+			if(scale > bound)
+				return false;
+		}
+	}
 
 }
@@ -0,0 +1,36 @@
+//	LICENSE:
+//	OnTypeAheadListener.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.util.EventListener;
+
+/**
+ * Listener of type ahead completion on a PickerText.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public interface OnTypeAheadListener extends EventListener{
+	
+	/**
+	 * Called on every edit of the text while type ahead is enabled.
+	 * @param input Text written by the user.
+	 * @param index Index of the element the picker has jumped to, -1 if no
+	 * element starts with input.
+	 * @param matches Number of elements starting with input.
+	 */
+	public void onTypeAhead(String input, int index, int matches);
+}
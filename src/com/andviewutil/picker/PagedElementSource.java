@@ -0,0 +1,146 @@
+//	LICENSE:
+//	PagedElementSource.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+/**
+ * Element source that loads elements by pages and only keeps the pages
+ * inside a window around the current index of the picker. Useful when
+ * elements come from a database and can not be held in memory.
+ * 
+ * Pages are loaded on the thread that asks for the element. A PickerText
+ * does not index a paged source, implement TextLookup on the subclass to 
+ * resolve edits.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public abstract class PagedElementSource implements ElementSource {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*number of elements*/
+	private final int size;
+	/*number of elements per page*/
+	private final int page_size;
+	/*number of pages kept at each side of the current page*/
+	private final int window;
+	/*loaded pages by page number, null if page is not loaded*/
+	private final Object[][] pages;
+	/*numbers of loaded pages, first loaded_count are valid*/
+	private final int[] loaded;
+	private int loaded_count = 0;
+	/*page of the current index*/
+	private int current_page = 0;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Sole constructor.
+	 * @param size Number of elements.
+	 * @param page_size Number of elements per page.
+	 * @param window Number of pages kept at each side of the page of the
+	 * current index.
+	 */
+	public PagedElementSource(int size, int page_size, int window){
+		if(size < 0 || page_size <= 0 || window < 0)
+			throw new IllegalArgumentException("Wrong paging parameters");
+		this.size = size;
+		this.page_size = page_size;
+		this.window = window;
+		this.pages = new Object[(int)(((long)size + page_size - 1) / page_size)][];
+		//window pages plus the one loaded outside the window
+		this.loaded = new int[(int)Math.min(pages.length, 2L * window + 2)];
+	}
+	
+	// PUBLIC METHODS
+	
+	public int size() {
+		return size;
+	}
+	public Object get(int index) {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		int page = index / page_size;
+		Object[] data = pages[page];
+		if(data == null)
+			data = load(page);
+		return data[index - page * page_size];
+	}
+	public void setCurrentIndex(int index) {
+		if(index >= 0 && index < size){
+			current_page = index / page_size;
+			evict();
+		}
+	}
+	/**
+	 * Drops all loaded pages, they will be loaded again when needed.
+	 */
+	public void invalidate(){
+		for(int i = 0; i < loaded_count; i++)
+			pages[loaded[i]] = null;
+		loaded_count = 0;
+	}
+	/**
+	 * Returns number of elements per page.
+	 * @return Page size.
+	 */
+	public int getPageSize(){
+		return page_size;
+	}
+	/**
+	 * Returns number of pages kept at each side of the current page.
+	 * @return Window size.
+	 */
+	public int getWindow(){
+		return window;
+	}
+	
+	// PROTECTED METHODS
+	
+	/**
+	 * Must load the given range of elements.
+	 * @param offset Index of first element of the page.
+	 * @param count Number of elements of the page.
+	 * @return Array of count elements.
+	 */
+	protected abstract Object[] loadPage(int offset, int count);
+	
+	// PRIVATE METHODS
+	
+	private Object[] load(int page){
+		int offset = page * page_size;
+		Object[] data = loadPage(offset, Math.min(page_size, size - offset));
+		//at most 2*window+1 pages are left, there is room for this one
+		evict();
+		pages[page] = data;
+		loaded[loaded_count++] = page;
+		return data;
+	}
+	/*
+	 * Drops the pages outside the window.
+	 */
+	private void evict(){
+		int j = 0;
+		for(int i = 0; i < loaded_count; i++){
+			int page = loaded[i];
+			if(Math.abs(page - current_page) <= window)
+				loaded[j++] = page;
+			else
+				pages[page] = null;
+		}
+		loaded_count = j;
+	}
+}
@@ -15,10 +15,15 @@
 //	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
 package com.andviewutil.picker;
 
-import java.io.Serializable;
-import java.util.LinkedList;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 
-import com.andviewutil.picker.OnPickerEventListener.Cause;
+import com.andviewutil.timer.Clock;
+import com.andviewutil.timer.FrameScheduler;
+import com.andviewutil.timer.HandlerFrameScheduler;
+import com.andviewutil.timer.HandlerScheduler;
+import com.andviewutil.timer.TaskScheduler;
+import com.andviewutil.timer.UptimeClock;
 
 import android.util.Log;
 import android.view.View;
@@ -27,15 +32,20 @@ import android.view.View.OnLongClickListener;
 
 /**
  * All pickers extends this class. Provides the data manegament to run a picker
- * except the graphical output.
+ * except the graphical output. Index logic is done by PickerCore, this class
+ * binds it to up and down views.
  * @author GuillermoBlascoJimenez
  * @version 1.1 Picker
  * @version 1.2 AndViewUtils
  */
-public abstract class Picker implements Serializable{
+public abstract class Picker extends PickerCore{
 
 	private static final long serialVersionUID = 12L;
 	
+	/*scheduler and clock of long click repeats, null to use main thread*/
+	private transient TaskScheduler scheduler;
+	private transient Clock clock;
+	
 	// PROTECTED ATTRIBUTES
 	
 	/**Up button*/
@@ -43,31 +53,6 @@ public abstract class Picker implements Serializable{
 	/**Down button*/
 	protected transient View down_button;
 	
-	// PRIVATE ATTRIBUTES
-	
-	/*boundaries, current var will be between [min, max] both included*/
-	private int max = 99;
-	private int min = 0;
-	/*current index*/
-	private int index = min;
-	/*Cyclic means that when max is reached next element will be min*/
-	private boolean cyclic = true;
-	/*delay between index increment or decrement on long click*/
-	private int long_click_refresh_delay = 300; //ms
-	/*on long click runnable tasks to be posted*/
-	private final Runnable up_long_click = new Runnable(){
-		public void run() {
-			Picker.this.onLongClickNext();
-		}
-	};
-	private final Runnable down_long_click = new Runnable(){
-		public void run() {
-			Picker.this.onLongClickPrev();
-		}
-	};
-	
-	private LinkedList<OnPickerEventListener> listeners;
-	
 	// PUBLIC CONSTRUCTOR
 	
 	/**
@@ -77,96 +62,14 @@ public abstract class Picker implements Serializable{
 	 */
 	public Picker(View up_button, View down_button) {
 		super();
-		this.listeners = new LinkedList<OnPickerEventListener>();
 		this.up_button = up_button;
 		this.down_button = down_button;
+		setHost(new ViewHost());
 		setListeners(); //set listeners to both buttons
 	}
 	
 	// PUBLIC METHODS
 	
-	/**
-	 * Adds a listener to picker.
- 	 * @param listener Listener to add.
-	 */
-	public void setOnPickerEventListener(OnPickerEventListener listener){
-		synchronized(listeners){
-			if(!listeners.contains(listener))
-				listeners.add(listener);
-		}
-	}
-	/**
-	 * Removes the given listener.
-	 * @param listener Listener to remove.
-	 */
-	public void removeListener(Object listener){
-		synchronized(listeners){
-			listeners.remove(listener);
-		}
-	}
-	/**
-	 * Returns maximum index.
-	 * @return maximum index.
-	 */
-	public int getMax(){
-		return max;
-	}
-	/**
-	 * Returns minimum index.
-	 * @return Minimum index.
-	 */
-	public int getMin(){
-		return min;
-	}
-	/**
-	 * Sets if picker behavior is cyclic or non-cyclic.
-	 * @param cyclic true if behavior should be cyclic, false if not.
-	 */
-	public void setCyclic(boolean cyclic){
-		this.cyclic = cyclic;
-	}
-	/**
-	 * Returns cyclic behavior of picker. 
-	 * @return true if behavior is cyclic, false otherwise.
-	 */
-	public boolean isCyclic(){
-		return cyclic;
-	}
-	/**
-	 * Sets current index of picker. Picker checks the given value and actualizes.
-	 * @param value New index value.
-	 */
-	public void setIndex(int value){
-		this.setIndex(value, true);
-	}
-	/**
-	 * Returns current index of picker.
-	 * @return Current index.
-	 */
-	public int getIndex(){
-		return index;
-	}
-	/**
-	 * Sets delay between decrements on long clicks.
-	 * @param delay Milliseconds of delay.
-	 */
-	public void setLongClickRefreshDelay(int delay){
-		this.long_click_refresh_delay = delay;
-	}
-	/**
-	 * Gets delay between decrements on long clicks.
-	 * @returndsa0 Milliseconds of delay.
-	 */
-	public int getLongClickRefreshDelay(){
-		return this.long_click_refresh_delay;
-	}
-	/**
-	 * Actualizes view.
-	 */
-	public void actualizeView(){
-		this.actualize();
-		pickerActualizedPerformed();
-	}
 	/**
 	 * Returns the view with up function.
 	 * @return View object with up function associated.
@@ -195,116 +98,20 @@ public abstract class Picker implements Serializable{
 	public void setUpButton(View up_button){
 		this.up_button = up_button;
 	}
-	
-	// PROTECTED METHODS
-	
-
-	/**
-	 * Called when up button is clicked. Increments index, checks it and
-	 * actualizes.
-	 */
-	protected void onNext() {
-		elementPickedPerformed(OnPickerEventListener.Cause.ON_NEXT);
-		this.setIndex(index+1, false);
-	}
-	/**
-	 * Called when down button is clicked. Decrements index, checks it and
-	 * actualizes.
-	 */
-	protected void onPrev() {
-		elementPickedPerformed(OnPickerEventListener.Cause.ON_PREV);
-		this.setIndex(index-1, false);
-	}
-	/**
-	 * Called when up button is long clicked. Posts on handler onNext() while
-	 * button is pressed.
-	 */
-	protected void onLongClickNext(){
-		if(up_button.isPressed()){
-			elementPickedPerformed(OnPickerEventListener.Cause.ON_NEXT_LONG_CLICK);
-			this.setIndex(index+1, false);
-			this.up_button.getHandler().postDelayed(up_long_click, this.long_click_refresh_delay);
-		}
-	}
-	/**
-	 * Called when down button is long clicked. Posts on handler onPrev() while
-	 * button is pressed.
-	 */
-	protected void onLongClickPrev(){
-		if(down_button.isPressed()){
-			elementPickedPerformed(OnPickerEventListener.Cause.ON_PREV_LONG_CLICK);
-			this.setIndex(index-1, false);
-			this.down_button.getHandler().postDelayed(down_long_click, this.long_click_refresh_delay);
-		}
-	}
-	/**
-	 * Sets maximum index if given maximum index is greater than minimum index.
-	 * @param max Maximum index.
-	 */
-	protected void setMax(int max){
-		if(max > min)
-			this.max = max;
-	}
-	/**
-	 * Sets minimum index if given minimum index is greater than maximum index.
-	 * @param min Minimum index.
-	 */
-	protected void setMin(int min){
-		if(min < max)
-			this.min = min;
-	}
-	/**
-	 * Checks given value and once it is checked sets it as current index.
-	 * @param new_value New value to set as index.
-	 * @return Checked index.
-	 */
-	protected boolean check(int new_value){
-		if(cyclic)
-			if(new_value > max) new_value = min + (Math.abs(--new_value)%(max));
-			else if(new_value < min) new_value = max - (Math.abs(++new_value)%(max));
-		else
-			if(new_value > max) new_value = max;
-			else if(new_value < min) new_value = min;
-		boolean ret = index != new_value;
-		index = new_value;
-		return ret;
-	}
-	/**
-	 * Sets a new index. Given index is checked and if needed view is actualized.
-	 * If the method call is not associated to any user action it must be internal
-	 * and onElementPicked will be fired. If method call is associated to some
-	 * user action then this listener call must not be done.
-	 * @param value New value to set.
-	 * @param is_internal true if call is not associated to user action, false 
-	 * otherwise.
-	 */
-	protected void setIndex(int value, boolean is_internal){
-		if(is_internal)
-			elementPickedPerformed(OnPickerEventListener.Cause.INTERNAL);
-		if(this.check(value))
-			this.actualizeView();
-	}
 	/**
-	 * Fires onElementPicked method on all listeners. 
-	 * @param cause Cause of this event.
+	 * Sets the scheduler and clock of long click repeats. By default repeats
+	 * are run on the main thread with SystemClock.uptimeMillis() time. Both 
+	 * must use the same time base, a ManualScheduler can be given as both.
+	 * @param scheduler Scheduler of repeats, null for the default one.
+	 * @param clock Clock of repeats, null for the default one.
 	 */
-	protected void elementPickedPerformed(Cause cause) {
-		OnPickerEventListener[] aux = listeners.toArray(new OnPickerEventListener[listeners.size()]);
-		Log.d("P", "element picked " + cause.toString());
-		for(int i = 0; i < aux.length; i++)
-			aux[i].onElementPicked(this.getIndex(),cause);
-	}
-	/**
-	 * Fires onActualize method on all listeners.
-	 */
-	private void pickerActualizedPerformed() {
-		Log.d("P", "element actualized");
-		OnPickerEventListener[] aux = listeners.toArray(new OnPickerEventListener[listeners.size()]);
-		for(int i = 0; i < aux.length; i++)
-			aux[i].onActualize(this.getIndex());
+	public void setTiming(TaskScheduler scheduler, Clock clock){
+		this.scheduler = scheduler;
+		this.clock = clock;
 	}
 	
 	// PRIVATE METHODS
+	
 	/*
 	 * Sets listeners on up and down buttons.
 	 */
@@ -324,7 +131,7 @@ public abstract class Picker implements Serializable{
 		// onLongClickNext case
 		up_button.setOnLongClickListener(new OnLongClickListener(){
 			public boolean onLongClick(View arg0) {
-				Picker.this.up_button.getHandler().post(up_long_click);
+				Picker.this.onLongClickNextStarted();
 				return false;
 			}
 			
@@ -332,20 +139,51 @@ public abstract class Picker implements Serializable{
 		// onLongClickPrev case
 		down_button.setOnLongClickListener(new OnLongClickListener(){
 			public boolean onLongClick(View arg0) {
-				Picker.this.down_button.getHandler().post(down_long_click);
+				Picker.this.onLongClickPrevStarted();
 				return false;
 			}
 		});
 	}
-	
-	
-	// ABSTRACT PROTECTED METHODS
-	
-	/**
-	 * Actualizes graphically picker. Called automatically when up and down 
-	 * buttons are clicked. If necessary actualize view safely then use
-	 * actualizeView(), this method will fire actualize event automatically.
+	/*
+	 * Host is not serialized, a new one is bound on deserialization.
 	 */
-	protected abstract void actualize();
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException{
+		in.defaultReadObject();
+		setHost(new ViewHost());
+	}
 	
+	// PRIVATE CLASSES
+	
+	/*
+	 * Host on Android, buttons are the views and repeats and frames are run
+	 * on the main thread.
+	 */
+	private class ViewHost implements PickerHost {
+		private TaskScheduler main_scheduler;
+		private FrameScheduler frame_scheduler;
+		
+		public boolean isPressed(int button) {
+			View view = button == UP_BUTTON ? up_button : down_button;
+			return view != null && view.isPressed();
+		}
+		public long uptimeMillis() {
+			Clock aux = clock;
+			return (aux != null ? aux : UptimeClock.getInstance()).uptimeMillis();
+		}
+		public TaskScheduler getScheduler() {
+			if(scheduler != null)
+				return scheduler;
+			if(main_scheduler == null)
+				main_scheduler = new HandlerScheduler();
+			return main_scheduler;
+		}
+		public FrameScheduler getFrameScheduler() {
+			if(frame_scheduler == null)
+				frame_scheduler = new HandlerFrameScheduler();
+			return frame_scheduler;
+		}
+		public void log(String message) {
+			Log.d("P", message);
+		}
+	}
 }
@@ -0,0 +1,618 @@
+//	LICENSE:
+//	PickerCore.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.io.Serializable;
+import com.andviewutil.picker.OnPickerEventListener.Cause;
+import com.andviewutil.reactive.LatestPublisher;
+import com.andviewutil.reactive.Publisher;
+import com.andviewutil.timer.FrameScheduler;
+import com.andviewutil.timer.ScheduledTask;
+
+/**
+ * Index engine of pickers, written in plain Java. Buttons, timing and logging
+ * are asked to a PickerHost and the graphical output is done by actualize(),
+ * so it runs the same on Android and headless on a JVM.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public abstract class PickerCore implements Serializable{
+
+	private static final long serialVersionUID = 12L;
+	/*compile time switch of debug logging*/
+	private static final boolean DEBUG = false;
+	/*listener array when there are no listeners*/
+	private static final OnPickerEventListener[] NO_LISTENERS = new OnPickerEventListener[0];
+	
+	// PRIVATE ATTRIBUTES
+	
+	/*host of the picker, gives buttons state, timing and logging*/
+	private transient PickerHost host;
+	
+	/*boundaries, current var will be between [min, max] both included*/
+	private int max = 99;
+	private int min = 0;
+	/*current index*/
+	private int index = min;
+	/*Cyclic means that when max is reached next element will be min*/
+	private boolean cyclic = true;
+	/*interval and step of repeats on long click*/
+	private RepeatPolicy repeat_policy = new RepeatPolicy();
+	/*repeats of long clicks, each button has its own*/
+	private final LongClick up_long_click = new LongClick(PickerHost.UP_BUTTON);
+	private final LongClick down_long_click = new LongClick(PickerHost.DOWN_BUTTON);
+	/*if true view actualizations are coalesced into one per frame*/
+	private boolean frame_coalescing = false;
+	/*true if an actualization is waiting for next frame*/
+	private boolean dirty = false;
+	/*frame scheduler used on frame coalescing*/
+	private transient FrameScheduler frame_scheduler;
+	/*frame task, actualizes view with the last index*/
+	private final Runnable frame_task = new Runnable(){
+		public void run() {
+			PickerCore.this.flushView();
+		}
+	};
+	
+	/*
+	 * Listeners, the array is never modified, it is replaced by a new copy
+	 * when a listener is added or removed. Events are fired without locking.
+	 */
+	private volatile OnPickerEventListener[] listeners = NO_LISTENERS;
+	/*lock of listener modifications*/
+	private final Object listeners_lock = new Object();
+	/*publisher of index changes, created on first request*/
+	private transient volatile LatestPublisher<PickerEvent> index_publisher;
+	/*cause of last event, given to published index changes*/
+	private Cause last_cause = Cause.INTERNAL;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Builds a picker run by the given host.
+	 * @param host Host of the picker.
+	 */
+	public PickerCore(PickerHost host) {
+		super();
+		this.host = host;
+	}
+	
+	// PROTECTED CONSTRUCTOR
+	
+	/**
+	 * Builds a picker without host, subclass must set it with setHost(..)
+	 * before the picker is used.
+	 */
+	protected PickerCore() {
+		super();
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Adds a listener to picker.
+ 	 * @param listener Listener to add.
+	 */
+	public void setOnPickerEventListener(OnPickerEventListener listener){
+		this.addListener(listener, listener);
+	}
+	/**
+	 * Adds a listener to picker with a policy of delivery of events.
+	 * @param listener Listener to add.
+	 * @param policy Policy of delivery, immediate, throttled or debounced.
+	 */
+	public void setOnPickerEventListener(OnPickerEventListener listener, DeliveryPolicy policy){
+		if(policy.getMode() == DeliveryPolicy.Mode.IMMEDIATE)
+			this.addListener(listener, listener);
+		else
+			this.addListener(listener, new CoalescingListener(this, listener, policy));
+	}
+	/**
+	 * Returns a publisher of the index changes of this picker, with the cause
+	 * of each one. Subscribers without demand only keep the latest change.
+	 * @return Publisher of index changes.
+	 */
+	public Publisher<PickerEvent> getIndexPublisher(){
+		if(index_publisher == null)
+			synchronized(listeners_lock){
+				if(index_publisher == null)
+					index_publisher = new LatestPublisher<PickerEvent>();
+			}
+		return index_publisher;
+	}
+	/**
+	 * Removes the given listener.
+	 * @param listener Listener to remove.
+	 */
+	public void removeListener(Object listener){
+		synchronized(listeners_lock){
+			OnPickerEventListener[] current = listeners;
+			for(int i = 0; i < current.length; i++)
+				if(isListener(current[i], listener)){
+					if(current.length == 1){
+						listeners = NO_LISTENERS;
+					}
+					else{
+						OnPickerEventListener[] aux = new OnPickerEventListener[current.length - 1];
+						System.arraycopy(current, 0, aux, 0, i);
+						System.arraycopy(current, i + 1, aux, i, current.length - i - 1);
+						listeners = aux;
+					}
+					return;
+				}
+		}
+	}
+	/**
+	 * Returns maximum index.
+	 * @return maximum index.
+	 */
+	public int getMax(){
+		return max;
+	}
+	/**
+	 * Returns minimum index.
+	 * @return Minimum index.
+	 */
+	public int getMin(){
+		return min;
+	}
+	/**
+	 * Sets if picker behavior is cyclic or non-cyclic.
+	 * @param cyclic true if behavior should be cyclic, false if not.
+	 */
+	public void setCyclic(boolean cyclic){
+		this.cyclic = cyclic;
+	}
+	/**
+	 * Returns cyclic behavior of picker. 
+	 * @return true if behavior is cyclic, false otherwise.
+	 */
+	public boolean isCyclic(){
+		return cyclic;
+	}
+	/**
+	 * Sets current index of picker. Picker checks the given value and actualizes.
+	 * @param value New index value.
+	 */
+	public void setIndex(int value){
+		this.setIndex(value, true);
+	}
+	/**
+	 * Moves current index the given number of steps. Picker checks the new
+	 * index, wrapping it if picker is cyclic, and actualizes. Costs the same
+	 * for any number of steps.
+	 * @param delta Number of steps, negative to move down.
+	 */
+	public void step(int delta){
+		elementPickedPerformed(OnPickerEventListener.Cause.INTERNAL);
+		if(this.stepIndex(delta))
+			this.actualizeView();
+	}
+	/**
+	 * Returns current index of picker.
+	 * @return Current index.
+	 */
+	public int getIndex(){
+		return index;
+	}
+	/**
+	 * Sets delay between decrements on long clicks.
+	 * @param delay Milliseconds of delay.
+	 */
+	public void setLongClickRefreshDelay(int delay){
+		this.repeat_policy.setInterval(delay);
+	}
+	/**
+	 * Gets delay between decrements on long clicks.
+	 * @return Milliseconds of delay.
+	 */
+	public int getLongClickRefreshDelay(){
+		return (int)this.repeat_policy.getInterval();
+	}
+	/**
+	 * Sets the policy of repeats on long click. Repeats are scheduled at a
+	 * fixed rate, time spent on a repeat does not delay the next one.
+	 * @param repeat_policy Policy of interval and step of repeats.
+	 */
+	public void setRepeatPolicy(RepeatPolicy repeat_policy){
+		this.repeat_policy = repeat_policy;
+	}
+	/**
+	 * Returns the policy of repeats on long click.
+	 * @return Policy of interval and step of repeats.
+	 */
+	public RepeatPolicy getRepeatPolicy(){
+		return this.repeat_policy;
+	}
+	/**
+	 * Sets the acceleration of long clicks. While button is pressed the step
+	 * is doubled every given number of repeats, up to the maximum step.
+	 * @param repeats Repeats needed to double the step, 0 for a constant step
+	 * of one.
+	 * @param max_step Maximum step.
+	 */
+	public void setLongClickAcceleration(int repeats, int max_step){
+		this.repeat_policy.setStepAcceleration(repeats, 2, max_step);
+	}
+	/**
+	 * Actualizes view. On frame coalescing the actualization is done on the
+	 * next frame, with the index the picker has then.
+	 */
+	public void actualizeView(){
+		if(frame_coalescing){
+			if(!dirty){
+				dirty = true;
+				getFrameScheduler().postFrame(frame_task);
+			}
+		}
+		else{
+			this.actualize();
+			pickerActualizedPerformed();
+		}
+	}
+	/**
+	 * Sets if view actualizations are coalesced into one per frame. Then
+	 * onActualize is fired once per frame with the last index.
+	 * @param frame_coalescing true to coalesce actualizations, false to 
+	 * actualize immediately.
+	 */
+	public void setFrameCoalescing(boolean frame_coalescing){
+		this.frame_coalescing = frame_coalescing;
+	}
+	/**
+	 * Asks if view actualizations are coalesced into one per frame.
+	 * @return true if they are coalesced, false otherwise.
+	 */
+	public boolean isFrameCoalescing(){
+		return frame_coalescing;
+	}
+	/**
+	 * Sets the frame scheduler used on frame coalescing.
+	 * @param frame_scheduler Frame scheduler.
+	 */
+	public void setFrameScheduler(FrameScheduler frame_scheduler){
+		this.frame_scheduler = frame_scheduler;
+	}
+	/**
+	 * Returns the frame scheduler used on frame coalescing. By default it is
+	 * the frame scheduler of the host.
+	 * @return Frame scheduler.
+	 */
+	public FrameScheduler getFrameScheduler(){
+		if(frame_scheduler == null)
+			frame_scheduler = host.getFrameScheduler();
+		return frame_scheduler;
+	}
+	/**
+	 * Returns the host of the picker.
+	 * @return Host of the picker.
+	 */
+	public PickerHost getHost(){
+		return this.host;
+	}
+	
+	// PROTECTED METHODS
+	
+
+	/**
+	 * Called when up button is clicked. Increments index, checks it and
+	 * actualizes.
+	 */
+	protected void onNext() {
+		elementPickedPerformed(OnPickerEventListener.Cause.ON_NEXT);
+		if(this.stepIndex(1))
+			this.actualizeView();
+	}
+	/**
+	 * Called when down button is clicked. Decrements index, checks it and
+	 * actualizes.
+	 */
+	protected void onPrev() {
+		elementPickedPerformed(OnPickerEventListener.Cause.ON_PREV);
+		if(this.stepIndex(-1))
+			this.actualizeView();
+	}
+	/**
+	 * Stops the repeats of the long click of a button. Repeats poll the
+	 * host and stop on the first one that finds the button released, so 
+	 * calling it is only needed to stop them at once. Picker does not call
+	 * it, touch listeners of the buttons are left to the application.
+	 * @param button PickerHost.UP_BUTTON or PickerHost.DOWN_BUTTON.
+	 */
+	public void stopLongClick(int button){
+		longClick(button).cancel();
+	}
+	/**
+	 * Called when up button starts a long click. Starts the repeats of 
+	 * onLongClickNext(), repeats of a previous long click are cancelled.
+	 */
+	protected void onLongClickNextStarted(){
+		up_long_click.start();
+	}
+	/**
+	 * Called when down button starts a long click. Starts the repeats of 
+	 * onLongClickPrev(), repeats of a previous long click are cancelled.
+	 */
+	protected void onLongClickPrevStarted(){
+		down_long_click.start();
+	}
+	/**
+	 * Called when up button is long clicked. Schedules onNext() while
+	 * button is pressed.
+	 */
+	protected void onLongClickNext(){
+		if(host.isPressed(PickerHost.UP_BUTTON)){
+			elementPickedPerformed(OnPickerEventListener.Cause.ON_NEXT_LONG_CLICK);
+			if(this.stepIndex(this.longClickStep(PickerHost.UP_BUTTON)))
+				this.actualizeView();
+			up_long_click.scheduleNext();
+		}
+	}
+	/**
+	 * Called when down button is long clicked. Schedules onPrev() while
+	 * button is pressed.
+	 */
+	protected void onLongClickPrev(){
+		if(host.isPressed(PickerHost.DOWN_BUTTON)){
+			elementPickedPerformed(OnPickerEventListener.Cause.ON_PREV_LONG_CLICK);
+			if(this.stepIndex(-this.longClickStep(PickerHost.DOWN_BUTTON)))
+				this.actualizeView();
+			down_long_click.scheduleNext();
+		}
+	}
+	/**
+	 * Sets the host of the picker.
+	 * @param host Host of the picker.
+	 */
+	protected void setHost(PickerHost host){
+		this.host = host;
+	}
+	/**
+	 * Actualizes view if an actualization is waiting for next frame.
+	 */
+	protected void flushView(){
+		if(dirty){
+			dirty = false;
+			this.actualize();
+			pickerActualizedPerformed();
+		}
+	}
+	/**
+	 * Sets maximum index if given maximum index is greater than minimum index.
+	 * @param max Maximum index.
+	 */
+	protected void setMax(int max){
+		if(max > min)
+			this.max = max;
+	}
+	/**
+	 * Sets minimum index if given minimum index is greater than maximum index.
+	 * @param min Minimum index.
+	 */
+	protected void setMin(int min){
+		if(min < max)
+			this.min = min;
+	}
+	/**
+	 * Sets both boundaries at once. Unlike setMax(..) and setMin(..) a single
+	 * index range, min equal to max, is admitted. Index is not checked.
+	 * @param min Minimum index.
+	 * @param max Maximum index, not less than minimum index.
+	 */
+	protected void setBounds(int min, int max){
+		if(max < min)
+			throw new IllegalArgumentException("Maximum " + max + " less than minimum " + min);
+		this.min = min;
+		this.max = max;
+	}
+	/**
+	 * Checks given value and once it is checked sets it as current index.
+	 * @param new_value New value to set as index.
+	 * @return Checked index.
+	 */
+	protected boolean check(int new_value){
+		int checked = this.bound(new_value);
+		boolean ret = index != checked;
+		index = checked;
+		if(ret)
+			this.indexChanged();
+		return ret;
+	}
+	/**
+	 * Moves the index the given number of steps and checks it. Called when
+	 * up and down buttons are clicked, pickers with their own value override
+	 * it to move that value. The moved index is wrapped or clamped into 
+	 * [min, max] and then given to check(..), so pickers overriding check(..)
+	 * see every click.
+	 * @param delta Number of steps, negative to move down.
+	 * @return true if index has changed.
+	 */
+	protected boolean stepIndex(int delta){
+		return this.check(this.bound((long)index + delta));
+	}
+	/**
+	 * Returns the step of the current repeat of the long click of a button.
+	 * @param button PickerHost.UP_BUTTON or PickerHost.DOWN_BUTTON.
+	 * @return Number of steps to move.
+	 */
+	protected int longClickStep(int button){
+		return repeat_policy.getStep(longClick(button).repeats);
+	}
+	/**
+	 * Sets a new index. Given index is checked and if needed view is actualized.
+	 * If the method call is not associated to any user action it must be internal
+	 * and onElementPicked will be fired. If method call is associated to some
+	 * user action then this listener call must not be done.
+	 * @param value New value to set.
+	 * @param is_internal true if call is not associated to user action, false 
+	 * otherwise.
+	 */
+	protected void setIndex(int value, boolean is_internal){
+		if(is_internal)
+			elementPickedPerformed(OnPickerEventListener.Cause.INTERNAL);
+		if(this.check(value))
+			this.actualizeView();
+	}
+	/**
+	 * Fires onElementPicked method on all listeners. 
+	 * @param cause Cause of this event.
+	 */
+	protected void elementPickedPerformed(Cause cause) {
+		this.last_cause = cause;
+		OnPickerEventListener[] aux = listeners;
+		if(DEBUG) host.log("element picked " + cause.toString());
+		for(int i = 0; i < aux.length; i++)
+			aux[i].onElementPicked(this.getIndex(),cause);
+	}
+	/**
+	 * Publishes current index to subscribers of index publisher. Must be 
+	 * called whenever index changes, subclasses override it to follow the
+	 * index and call super.
+	 */
+	protected void indexChanged(){
+		LatestPublisher<PickerEvent> publisher = index_publisher;
+		if(publisher != null && publisher.hasSubscribers())
+			publisher.publish(new PickerEvent(this.getIndex(), last_cause));
+	}
+	/**
+	 * Fires onActualize method on all listeners. Called by actualizeView(), 
+	 * pickers whose view already shows the index, like after a keyboard 
+	 * edit, call it without actualizing.
+	 */
+	protected void pickerActualizedPerformed() {
+		if(DEBUG) host.log("element actualized");
+		OnPickerEventListener[] aux = listeners;
+		for(int i = 0; i < aux.length; i++)
+			aux[i].onActualize(this.getIndex());
+	}
+	
+	// PRIVATE METHODS
+	/*
+	 * Adds entry to listeners if listener is not registered yet. Entry is 
+	 * the listener itself or a wrapper of it.
+	 */
+	private void addListener(Object listener, OnPickerEventListener entry){
+		synchronized(listeners_lock){
+			OnPickerEventListener[] current = listeners;
+			for(int i = 0; i < current.length; i++)
+				if(isListener(current[i], listener))
+					return;
+			OnPickerEventListener[] aux = new OnPickerEventListener[current.length + 1];
+			System.arraycopy(current, 0, aux, 0, current.length);
+			aux[current.length] = entry;
+			listeners = aux;
+		}
+	}
+	/*
+	 * Asks if entry is the given listener or wraps it, directly or through
+	 * other wrappers. A wrapper itself, like an AsyncListener, is matched too.
+	 */
+	private static boolean isListener(OnPickerEventListener entry, Object listener){
+		while(entry != null){
+			if(entry == listener || entry.equals(listener))
+				return true;
+			if(!(entry instanceof ListenerWrapper))
+				return false;
+			entry = ((ListenerWrapper)entry).getListener();
+		}
+		return false;
+	}
+	private LongClick longClick(int button){
+		return button == PickerHost.UP_BUTTON ? up_long_click : down_long_click;
+	}
+	/*
+	 * Wraps or clamps the given value into [min, max]. Values are long so
+	 * index + delta never overflows.
+	 */
+	private int bound(long new_value){
+		if(new_value > max || new_value < min){
+			if(cyclic){
+				long n = (long)max - min + 1;
+				long offset = (new_value - min) % n;
+				new_value = min + (offset < 0 ? offset + n : offset);
+			}
+			else
+				new_value = new_value > max ? max : min;
+		}
+		return (int)new_value;
+	}
+	
+	// PRIVATE CLASSES
+	
+	/*
+	 * Chain of repeats of the long click of a button. Only one repeat is
+	 * pending at a time, its handle is kept to cancel it.
+	 */
+	private class LongClick implements Runnable, Serializable {
+		private static final long serialVersionUID = 13L;
+		private final int button;
+		/*repeats done on current long click*/
+		private int repeats = 0;
+		/*uptime when next repeat is due*/
+		private long next_time = 0;
+		/*pending repeat, null if there is none*/
+		private transient ScheduledTask pending;
+		
+		LongClick(int button){
+			this.button = button;
+		}
+		public void run() {
+			pending = null;
+			if(button == PickerHost.UP_BUTTON)
+				PickerCore.this.onLongClickNext();
+			else
+				PickerCore.this.onLongClickPrev();
+		}
+		/*
+		 * Cancels the previous chain and runs the first repeat now.
+		 */
+		void start(){
+			cancel();
+			repeats = 0;
+			next_time = host.uptimeMillis();
+			pending = host.getScheduler().schedule(this, 0);
+		}
+		/*
+		 * Schedules next repeat at a fixed rate from the start of the long
+		 * click. If repeats are late they are not accumulated, next one is
+		 * scheduled now.
+		 */
+		void scheduleNext(){
+			next_time += repeat_policy.getInterval(repeats++);
+			long now = host.uptimeMillis();
+			if(next_time < now)
+				next_time = now;
+			pending = host.getScheduler().schedule(this, next_time - now);
+		}
+		void cancel(){
+			ScheduledTask task = pending;
+			pending = null;
+			if(task != null)
+				task.cancel();
+		}
+	}
+	
+	// ABSTRACT PROTECTED METHODS
+	
+	/**
+	 * Actualizes graphically picker. Called automatically when up and down 
+	 * buttons are clicked. If necessary actualize view safely then use
+	 * actualizeView(), this method will fire actualize event automatically.
+	 */
+	protected abstract void actualize();
+	
+}
@@ -0,0 +1,65 @@
+//	LICENSE:
+//	PickerEvent.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import com.andviewutil.picker.OnPickerEventListener.Cause;
+
+/**
+ * Change of the index of a picker, published by its index publisher.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public final class PickerEvent {
+
+	// PRIVATE ATTRIBUTES
+	
+	private final int index;
+	private final Cause cause;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Sole constructor.
+	 * @param index New index.
+	 * @param cause Cause of the change.
+	 */
+	public PickerEvent(int index, Cause cause){
+		this.index = index;
+		this.cause = cause;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns the new index.
+	 * @return Index.
+	 */
+	public int getIndex(){
+		return index;
+	}
+	/**
+	 * Returns the cause of the change.
+	 * @return Cause.
+	 */
+	public Cause getCause(){
+		return cause;
+	}
+	@Override
+	public String toString(){
+		return "PickerEvent[" + index + ", " + cause + "]";
+	}
+}
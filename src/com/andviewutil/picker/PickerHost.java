@@ -0,0 +1,63 @@
+//	LICENSE:
+//	PickerHost.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import com.andviewutil.timer.FrameScheduler;
+import com.andviewutil.timer.TaskScheduler;
+
+/**
+ * Port between a PickerCore and the platform it runs on. Gives the state of
+ * the buttons, the clock and schedulers of repeats and frames, and the log.
+ * Graphical output is not part of the host, it is done by actualize().
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public interface PickerHost {
+	
+	/** up button */
+	public static final int UP_BUTTON = 0;
+	/** down button */
+	public static final int DOWN_BUTTON = 1;
+	
+	/**
+	 * Asks if a button is currently pressed. Long click repeats go on while
+	 * it is.
+	 * @param button UP_BUTTON or DOWN_BUTTON.
+	 * @return true if it is pressed, false otherwise.
+	 */
+	public boolean isPressed(int button);
+	/**
+	 * Returns current time of the clock used to schedule repeats.
+	 * @return Milliseconds of a monotonic clock.
+	 */
+	public long uptimeMillis();
+	/**
+	 * Returns the scheduler where long click repeats are run.
+	 * @return Task scheduler.
+	 */
+	public TaskScheduler getScheduler();
+	/**
+	 * Returns the scheduler used on frame coalescing.
+	 * @return Frame scheduler.
+	 */
+	public FrameScheduler getFrameScheduler();
+	/**
+	 * Writes a debug message.
+	 * @param message Message to write.
+	 */
+	public void log(String message);
+}
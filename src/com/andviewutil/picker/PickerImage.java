@@ -16,6 +16,12 @@
 package com.andviewutil.picker;
 
 import android.graphics.drawable.Drawable;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
 import android.view.View;
 import android.widget.ImageView;
 /**
@@ -40,6 +46,16 @@ public class PickerImage extends ElementPicker{
 	private transient Drawable[] images;
 	/*output type*/
 	private ImageType image_type;
+	/*executor where resources are decoded, null to decode them on UI thread*/
+	private transient Executor decoder;
+	/*cache of decoded resources, null to use the shared one*/
+	private transient BitmapCache cache;
+	/*if true resources are decoded to fit the image view*/
+	private boolean downsampling = false;
+	/*number of neighbors decoded in advance at each side of current index*/
+	private int prefetch = 0;
+	/*resources being decoded*/
+	private transient HashSet<Long> pending;
 	
 	// PUBLIC CONSTRUCTORS
 	
@@ -52,7 +68,18 @@ public class PickerImage extends ElementPicker{
 	 * @param images_id Resource ID of elements.
 	 */
 	public PickerImage(ImageView view, View up_button, View down_button, Object[] elements, int[] images_id) {
-		super(up_button, down_button, elements);
+		this(view, up_button, down_button, new ArrayElementSource(elements), images_id);
+	}
+	/**
+	 * Builds a PickerImage of the elements of a source using resources.
+	 * @param view ImageView where image is displayed.
+	 * @param up_button View with up function.
+	 * @param down_button View with down function.
+	 * @param source Source of elements to pick.
+	 * @param images_id Resource ID of elements.
+	 */
+	public PickerImage(ImageView view, View up_button, View down_button, ElementSource source, int[] images_id) {
+		super(up_button, down_button, source);
 		this.view = view;
 		this.ids = images_id;
 		this.images = null;
@@ -67,7 +94,19 @@ public class PickerImage extends ElementPicker{
 	 * @param images Drawable objects to show on element picked.
 	 */
 	public PickerImage(ImageView view, View up_button, View down_button, Object[] elements, Drawable[] images) {
-		super(up_button, down_button, elements);
+		this(view, up_button, down_button, new ArrayElementSource(elements), images);
+	}
+	/**
+	 * Builds a PickerImage of the elements of a source using an array of 
+	 * Drawable objects.
+	 * @param view ImageView where image is displayed.
+	 * @param up_button View with up function.
+	 * @param down_button View with down function.
+	 * @param source Source of elements to pick.
+	 * @param images Drawable objects to show on element picked.
+	 */
+	public PickerImage(ImageView view, View up_button, View down_button, ElementSource source, Drawable[] images) {
+		super(up_button, down_button, source);
 		this.view = view;
 		this.images = images;
 		this.ids = null;
@@ -126,6 +165,76 @@ public class PickerImage extends ElementPicker{
 	public boolean isWorkingWithDrawables(){
 		return this.image_type.equals(ImageType.DRAWABLE_ARRAY);
 	}
+	/**
+	 * Decodes resources on the given executor instead of UI thread. Decoded
+	 * images are kept on cache and images of the neighbors of the current
+	 * index are decoded in advance. While current image is decoded the last
+	 * one is kept on view. Decodes of images that are no longer near the 
+	 * current index when the executor runs them are skipped.
+	 * @param decoder Executor where resources are decoded.
+	 * @param cache Cache of decoded images, it can be shared by several
+	 * pickers. If null the shared cache is used.
+	 * @param prefetch Number of neighbors decoded in advance at each side.
+	 */
+	public void setAsyncDecoding(Executor decoder, BitmapCache cache, int prefetch){
+		this.decoder = decoder;
+		this.cache = cache;
+		this.prefetch = Math.max(0, prefetch);
+		this.pending = new HashSet<Long>();
+	}
+	/**
+	 * Decodes resources on UI thread again.
+	 */
+	public void disableAsyncDecoding(){
+		this.decoder = null;
+	}
+	/**
+	 * Asks if resources are decoded out of UI thread.
+	 * @return true if they are decoded on an executor, false otherwise.
+	 */
+	public boolean isDecodingAsync(){
+		return this.decoder != null;
+	}
+	/**
+	 * Sets if resources are decoded to the size of the image view. Then 
+	 * decoded images are cached, on the shared cache if picker has not its
+	 * own one, so memory of all pickers is bounded by the cache budget.
+	 * Images dropped from cache are decoded again when needed. Only applies
+	 * to pickers working with resource ids.
+	 * @param downsampling true to decode to view size, false to decode at
+	 * full size.
+	 */
+	public void setDownsampling(boolean downsampling){
+		this.downsampling = downsampling;
+	}
+	/**
+	 * Asks if resources are decoded to the size of the image view.
+	 * @return true if they are downsampled, false otherwise.
+	 */
+	public boolean isDownsampling(){
+		return this.downsampling;
+	}
+	/**
+	 * Returns the cache of decoded images.
+	 * @return Cache of this picker or the shared one if it has not its own.
+	 */
+	public BitmapCache getBitmapCache(){
+		return this.cache != null ? this.cache : BitmapCache.getShared();
+	}
+	/**
+	 * Returns number of actualizations that found the image on cache.
+	 * @return Cache hits.
+	 */
+	public long getCacheHits(){
+		return getBitmapCache().getHits();
+	}
+	/**
+	 * Returns number of actualizations that had to decode the image.
+	 * @return Cache misses.
+	 */
+	public long getCacheMisses(){
+		return getBitmapCache().getMisses();
+	}
 	// PROTECTED METHODS
 	/**
 	 * Actualizes the ImageView object.
@@ -139,11 +248,142 @@ public class PickerImage extends ElementPicker{
 				this.view.setImageDrawable(images[super.getIndex()]);
 				break;
 			case ID_ARRAY:
-				this.view.setImageResource(ids[super.getIndex()]);
+				if(decoder != null)
+					this.actualizeAsync(super.getIndex());
+				else if(downsampling)
+					this.actualizeDownsampled(super.getIndex());
+				else
+					this.view.setImageResource(ids[super.getIndex()]);
 				break;
 			default:
 				break;
 		}
 
 	}
+	
+	// PRIVATE METHODS
+	
+	/*
+	 * Shows cached image or decodes it on UI thread.
+	 */
+	private void actualizeDownsampled(int index){
+		int width = targetWidth(), height = targetHeight();
+		long key = BitmapCache.key(ids[index], width, height);
+		BitmapCache cache = getBitmapCache();
+		Bitmap bitmap = cache.get(key);
+		if(bitmap == null){
+			bitmap = decodeResource(view.getResources(), ids[index], width, height);
+			if(bitmap == null)
+				return;
+			cache.put(key, bitmap);
+		}
+		this.view.setImageBitmap(bitmap);
+	}
+	/*
+	 * Shows cached image or decodes it, then decodes neighbors.
+	 */
+	private void actualizeAsync(int index){
+		int width = targetWidth(), height = targetHeight();
+		BitmapCache cache = getBitmapCache();
+		Bitmap bitmap = cache.get(BitmapCache.key(ids[index], width, height));
+		if(bitmap != null)
+			this.view.setImageBitmap(bitmap);
+		else
+			decode(index, width, height);
+		for(int d = 1; d <= prefetch; d++){
+			int next = neighbor(index, d);
+			if(next >= 0 && !cache.contains(BitmapCache.key(ids[next], width, height)))
+				decode(next, width, height);
+			int prev = neighbor(index, -d);
+			if(prev >= 0 && !cache.contains(BitmapCache.key(ids[prev], width, height)))
+				decode(prev, width, height);
+		}
+	}
+	/*
+	 * Decodes the image of the given index on the executor.
+	 */
+	private void decode(final int index, final int width, final int height){
+		final int id = ids[index];
+		final long key = BitmapCache.key(id, width, height);
+		synchronized(pending){
+			if(!pending.add(key))
+				return;
+		}
+		final ImageView target = this.view;
+		final Resources resources = target.getResources();
+		final BitmapCache cache = getBitmapCache();
+		final HashSet<Long> pending = this.pending;
+		decoder.execute(new Runnable(){
+			public void run() {
+				try{
+					//skip stale decodes
+					if(!isNearIndex(index))
+						return;
+					final Bitmap bitmap = decodeResource(resources, id, width, height);
+					if(bitmap == null)
+						return;
+					cache.put(key, bitmap);
+					target.post(new Runnable(){
+						public void run() {
+							if(target == view && ids[getIndex()] == id)
+								target.setImageBitmap(bitmap);
+						}
+					});
+				}
+				finally{
+					synchronized(pending){
+						pending.remove(key);
+					}
+				}
+			}
+		});
+	}
+	/*
+	 * Decodes a resource. If width and height are positive it is sampled
+	 * down while it is not smaller than them.
+	 */
+	private static Bitmap decodeResource(Resources resources, int id, int width, int height){
+		if(width <= 0 || height <= 0)
+			return BitmapFactory.decodeResource(resources, id);
+		BitmapFactory.Options options = new BitmapFactory.Options();
+		options.inJustDecodeBounds = true;
+		BitmapFactory.decodeResource(resources, id, options);
+		int sample = 1;
+		while(options.outWidth / (sample * 2) >= width && options.outHeight / (sample * 2) >= height)
+			sample *= 2;
+		options.inJustDecodeBounds = false;
+		options.inSampleSize = sample;
+		return BitmapFactory.decodeResource(resources, id, options);
+	}
+	/*
+	 * Target dimensions of decoded images, 0 if they are decoded at full size
+	 * or view has not been measured yet.
+	 */
+	private int targetWidth(){
+		return downsampling ? view.getWidth() : 0;
+	}
+	private int targetHeight(){
+		return downsampling ? view.getHeight() : 0;
+	}
+	/*
+	 * Returns index at delta steps of given index or -1 if there is not.
+	 */
+	private int neighbor(int index, int delta){
+		int i = index + delta;
+		if(i >= getMin() && i <= getMax())
+			return i;
+		if(!isCyclic())
+			return -1;
+		int n = getMax() - getMin() + 1;
+		return getMin() + ((i - getMin()) % n + n) % n;
+	}
+	/*
+	 * Asks if given index is inside the prefetch window of current index.
+	 */
+	private boolean isNearIndex(int index){
+		int distance = Math.abs(index - getIndex());
+		if(isCyclic())
+			distance = Math.min(distance, getMax() - getMin() + 1 - distance);
+		return distance <= prefetch;
+	}
 }
@@ -35,6 +35,15 @@ public class PickerText extends ElementPicker {
 	private transient TextView text;
 	/*flag to avoid recursive call on edit text*/
 	private boolean internal_edit = false;
+	/*index of display strings of an array source, built on first edit if
+	 *it is not given*/
+	private transient volatile TextIndex text_index;
+	/*if true picker jumps to the first element starting with input*/
+	private boolean type_ahead = false;
+	/*if true input is compared with elements ignoring case*/
+	private boolean ignore_case = false;
+	/*type ahead listener*/
+	private transient OnTypeAheadListener type_ahead_listener;
 	
 	// PUBLIC CONSTRUCTOR
 	
@@ -46,7 +55,17 @@ public class PickerText extends ElementPicker {
 	 * @param elements Elements to pick.
 	 */
 	public PickerText(View up_button, View down_button, TextView text, Object[] elements) {
-		super(up_button, down_button, elements);
+		this(up_button, down_button, text, new ArrayElementSource(elements));
+	}
+	/**
+	 * Builds a PickerText of the elements of a source.
+	 * @param text TextView object where elements are displayed.
+	 * @param up_button View with up function.
+	 * @param down_button View with down function.
+	 * @param source Source of elements to pick.
+	 */
+	public PickerText(View up_button, View down_button, TextView text, ElementSource source) {
+		super(up_button, down_button, source);
 		this.text = text;
 		text.addTextChangedListener(new TextWatcher(){
 			public void afterTextChanged(Editable arg0) {
@@ -79,24 +98,140 @@ public class PickerText extends ElementPicker {
 	public boolean hasTextView(){
 		return this.text != null;
 	}
+	/**
+	 * Sets type ahead completion. While user writes the picker jumps to the
+	 * first element, in string order, starting with the input, without 
+	 * changing the text. onElementPicked is fired when input matches a whole
+	 * element.
+	 * @param type_ahead true to enable type ahead, false to disable it.
+	 */
+	public void setTypeAhead(boolean type_ahead){
+		this.type_ahead = type_ahead;
+	}
+	/**
+	 * Asks if type ahead completion is enabled.
+	 * @return true if it is enabled, false otherwise.
+	 */
+	public boolean isTypeAhead(){
+		return type_ahead;
+	}
+	/**
+	 * Sets if input is compared with elements ignoring case. Sources that
+	 * implement TextLookup compare as they decide.
+	 * @param ignore_case true to ignore case, false otherwise.
+	 */
+	public void setIgnoreCase(boolean ignore_case){
+		if(this.ignore_case != ignore_case){
+			this.ignore_case = ignore_case;
+			this.text_index = null;
+		}
+	}
+	/**
+	 * Asks if input is compared with elements ignoring case.
+	 * @return true if case is ignored, false otherwise.
+	 */
+	public boolean isIgnoringCase(){
+		return ignore_case;
+	}
+	/**
+	 * Sets the index of display strings of the elements, so it is not built
+	 * on the first edit. Big indices can be built out of UI thread and set
+	 * here. Index must be of the current elements, comparing case as the
+	 * picker does.
+	 * @param text_index Index of current elements, null to build it on next
+	 * edit.
+	 */
+	public void setTextIndex(TextIndex text_index){
+		if(text_index != null && text_index.isIgnoringCase() != ignore_case)
+			throw new IllegalArgumentException("Index compares case differently than picker");
+		this.text_index = text_index;
+	}
+	/**
+	 * Sets the listener of type ahead completion.
+	 * @param listener Listener, null to remove it.
+	 */
+	public void setOnTypeAheadListener(OnTypeAheadListener listener){
+		this.type_ahead_listener = listener;
+	}
+	/**
+	 * Sets the source of elements to pick. Index of display strings is
+	 * rebuilt on next edit.
+	 * @param source Source of elements to pick.
+	 */
+	@Override
+	public void setElementSource(ElementSource source){
+		super.setElementSource(source);
+		this.text_index = null;
+	}
 	// PROTECTED METHOD
 	
 	/**
-	 * Called when text has been edited. 
+	 * Called when text has been edited. If input is the beginning of some
+	 * element it is considered incomplete and nothing is done until it
+	 * matches an element or it can not match anyone. On type ahead the 
+	 * picker jumps to the first element starting with incomplete input.
+	 * If elements can not be looked up every edit is wrong and the text is
+	 * restored.
 	 * @param input New string.
 	 */
 	protected void onTextEdit(String input) {
 		if(!this.internal_edit){
-			for(int i = 0; i < super.getElements().length; i++)
-				if(super.getElements()[i].toString().equals(input) && super.check(i)){
-					super.setIndex(i, false);
+			TextLookup lookup = getTextLookup();
+			if(lookup != null){
+				int i = lookup.indexOf(input);
+				if(type_ahead)
+					typeAhead(lookup, input);
+				if(i >= 0){
+					super.check(i);
 					super.elementPickedPerformed(OnPickerEventListener.Cause.ON_EDIT_WELL);
 					return;
 				}
+				if(lookup.hasPrefix(input))
+					return;
+			}
 			super.elementPickedPerformed(OnPickerEventListener.Cause.ON_EDIT_WRONG);
 			this.actualizeView();
 		}
 	}
+	/**
+	 * Returns the lookup used to resolve edits. It is the source if it
+	 * implements TextLookup, otherwise the index of an array source. Other
+	 * sources are not indexed, it would load every element.
+	 * @return Lookup of elements or null if elements can not be looked up.
+	 */
+	protected TextLookup getTextLookup(){
+		ElementSource source = super.getElementSource();
+		if(source instanceof TextLookup)
+			return (TextLookup)source;
+		return getTextIndex();
+	}
+	/**
+	 * Returns the index of display strings of an array source. If elements 
+	 * are modified without calling setElementSource(..) the index is not
+	 * updated.
+	 * @return Index of elements or null if source is not an array source
+	 * and no index has been set.
+	 */
+	protected TextIndex getTextIndex(){
+		ElementSource source = super.getElementSource();
+		if(text_index == null && source instanceof ArrayElementSource)
+			text_index = new TextIndex(source, ignore_case);
+		return text_index;
+	}
+	
+	// PRIVATE METHODS
+	
+	/*
+	 * Jumps to the first element starting with input and reports it.
+	 */
+	private void typeAhead(TextLookup lookup, String input){
+		int matches = lookup.countWithPrefix(input);
+		int first = matches > 0 ? lookup.firstWithPrefix(input) : -1;
+		if(first >= 0)
+			super.check(first);
+		if(type_ahead_listener != null)
+			type_ahead_listener.onTypeAhead(input, first, matches);
+	}
 	/**
 	 * Actualizes the TextView object.
 	 */
@@ -105,7 +240,7 @@ public class PickerText extends ElementPicker {
 		if(!hasTextView())
 			throw new NullPointerException("Can't actualize without output text view");
 		this.internal_edit = true;
-		this.text.setText(super.getElements()[getIndex()].toString());
+		this.text.setText(super.getCurrentElement().toString());
 		this.internal_edit = false;
 	}
 }
@@ -0,0 +1,147 @@
+//	LICENSE:
+//	RepeatPolicy.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.io.Serializable;
+
+import com.andviewutil.timer.FrameScheduler;
+
+/**
+ * Policy of the repeats of a picker while a button is long clicked. Gives
+ * the interval before each repeat and the number of steps moved on it.
+ * Interval and step are accelerated by stages: every given number of
+ * repeats the interval is multiplied by a factor lesser than one and the 
+ * step by a factor greater than one. Interval is never lesser than the
+ * minimum interval, by default one frame.
+ * 
+ * Override getInterval(..) and getStep(..) to use other curves.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public class RepeatPolicy implements Serializable {
+
+	// PRIVATE ATTRIBUTES
+	
+	private static final long serialVersionUID = 13L;
+	/*interval before first repeats*/
+	private long interval = 300; //ms
+	/*minimum interval, maximum rate of repeats*/
+	private long min_interval = FrameScheduler.DEFAULT_FRAME_PERIOD;
+	/*repeats per stage of interval acceleration, 0 for a constant interval*/
+	private int interval_stage = 0;
+	/*interval factor per stage*/
+	private double interval_factor = 1;
+	/*repeats per stage of step acceleration, 0 for a constant step*/
+	private int step_stage = 0;
+	/*step factor per stage*/
+	private int step_factor = 1;
+	/*maximum step*/
+	private int max_step = 1;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Builds a policy of a repeat each 300 ms with a step of one.
+	 */
+	public RepeatPolicy(){}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Sets the interval before first repeats.
+	 * @param interval Milliseconds between repeats.
+	 * @return This policy.
+	 */
+	public RepeatPolicy setInterval(long interval){
+		this.interval = Math.max(1, interval);
+		return this;
+	}
+	/**
+	 * Sets the minimum interval between repeats. Usually the frame period,
+	 * faster repeats would not be shown.
+	 * @param min_interval Minimum milliseconds between repeats.
+	 * @return This policy.
+	 */
+	public RepeatPolicy setMinInterval(long min_interval){
+		this.min_interval = Math.max(1, min_interval);
+		return this;
+	}
+	/**
+	 * Sets the acceleration of the rate of repeats.
+	 * @param stage Repeats per stage, 0 for a constant interval.
+	 * @param factor Interval factor per stage, between 0 and 1.
+	 * @return This policy.
+	 */
+	public RepeatPolicy setIntervalAcceleration(int stage, double factor){
+		if(factor <= 0 || factor > 1)
+			throw new IllegalArgumentException("Interval factor must be in (0, 1]");
+		this.interval_stage = Math.max(0, stage);
+		this.interval_factor = factor;
+		return this;
+	}
+	/**
+	 * Sets the acceleration of the step.
+	 * @param stage Repeats per stage, 0 for a constant step of one.
+	 * @param factor Step factor per stage, at least 1.
+	 * @param max_step Maximum step.
+	 * @return This policy.
+	 */
+	public RepeatPolicy setStepAcceleration(int stage, int factor, int max_step){
+		this.step_stage = Math.max(0, stage);
+		this.step_factor = Math.max(1, factor);
+		this.max_step = Math.max(1, max_step);
+		return this;
+	}
+	/**
+	 * Returns the interval before first repeats.
+	 * @return Milliseconds between first repeats.
+	 */
+	public long getInterval(){
+		return interval;
+	}
+	/**
+	 * Returns the minimum interval between repeats.
+	 * @return Minimum milliseconds between repeats.
+	 */
+	public long getMinInterval(){
+		return min_interval;
+	}
+	/**
+	 * Returns the interval after the given repeat.
+	 * @param repeat Number of repeat, starting at 0.
+	 * @return Milliseconds until next repeat.
+	 */
+	public long getInterval(int repeat){
+		long ret = interval;
+		if(interval_stage > 0 && interval_factor < 1)
+			ret = (long)(interval * Math.pow(interval_factor, repeat / interval_stage));
+		return Math.max(ret, min_interval);
+	}
+	/**
+	 * Returns the step of the given repeat.
+	 * @param repeat Number of repeat, starting at 0.
+	 * @return Number of steps to move.
+	 */
+	public int getStep(int repeat){
+		if(step_stage == 0 || step_factor == 1)
+			return 1;
+		long step = 1;
+		for(int stages = repeat / step_stage; stages > 0 && step < max_step; stages--)
+			step *= step_factor;
+		return (int)Math.min(step, max_step);
+	}
+}
@@ -0,0 +1,208 @@
+//	LICENSE:
+//	TextIndex.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import java.util.Locale;
+
+/**
+ * Index of the display strings of an array of elements. Exact and prefix
+ * lookups are resolved by binary search on a sorted table of strings, so no
+ * element is visited nor converted to string on a lookup. The table holds
+ * the strings and an int per element, nothing else. Optionally strings are
+ * compared ignoring case.
+ * 
+ * The index is a snapshot, it must be rebuilt if elements change. Building
+ * it visits every element, for big arrays build it out of UI thread and
+ * give it to PickerText.setTextIndex(..).
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public class TextIndex implements TextLookup {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*true if strings are folded to lower case*/
+	private final boolean ignore_case;
+	/*display strings sorted*/
+	private final String[] keys;
+	/*element index of each sorted string, equal strings by element order*/
+	private final int[] indices;
+	
+	// PUBLIC CONSTRUCTORS
+	
+	/**
+	 * Builds the index of the given elements. Strings are case sensitive.
+	 * @param elements Elements, they are displayed by toString().
+	 */
+	public TextIndex(Object[] elements){
+		this(new ArrayElementSource(elements), false);
+	}
+	/**
+	 * Builds the index of the given elements.
+	 * @param elements Elements, they are displayed by toString().
+	 * @param ignore_case true if strings are compared ignoring case.
+	 */
+	public TextIndex(Object[] elements, boolean ignore_case){
+		this(new ArrayElementSource(elements), ignore_case);
+	}
+	/**
+	 * Builds the index of the elements of a source. Every element is asked
+	 * once to the source.
+	 * @param source Source of elements, they are displayed by toString().
+	 * @param ignore_case true if strings are compared ignoring case.
+	 */
+	public TextIndex(ElementSource source, boolean ignore_case){
+		this.ignore_case = ignore_case;
+		int size = source.size();
+		String[] strings = new String[size];
+		int[] order = new int[size];
+		for(int i = 0; i < size; i++){
+			strings[i] = normalize(source.get(i).toString());
+			order[i] = i;
+		}
+		sort(order, new int[size], strings, 0, size);
+		this.keys = new String[size];
+		for(int i = 0; i < size; i++)
+			keys[i] = strings[order[i]];
+		this.indices = order;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns the index of the first element displayed as the given text.
+	 * @param text Text to look for.
+	 * @return Element index or -1 if there is no element displayed as text.
+	 */
+	public int indexOf(String text){
+		text = normalize(text);
+		int i = lowerBound(text);
+		//equal strings are sorted by element order, first one is the lowest
+		return i < keys.length && keys[i].equals(text) ? indices[i] : -1;
+	}
+	/**
+	 * Asks if some element is displayed with a string starting with the
+	 * given prefix.
+	 * @param prefix Prefix to look for.
+	 * @return true if there is some element, false otherwise.
+	 */
+	public boolean hasPrefix(String prefix){
+		prefix = normalize(prefix);
+		int i = lowerBound(prefix);
+		return i < keys.length && keys[i].startsWith(prefix);
+	}
+	/**
+	 * Returns the index of the first element, in string order, displayed
+	 * with a string starting with the given prefix.
+	 * @param prefix Prefix to look for.
+	 * @return Element index or -1 if no element starts with prefix.
+	 */
+	public int firstWithPrefix(String prefix){
+		prefix = normalize(prefix);
+		int i = lowerBound(prefix);
+		return i < keys.length && keys[i].startsWith(prefix) ? indices[i] : -1;
+	}
+	/**
+	 * Returns how many elements are displayed with a string starting with
+	 * the given prefix.
+	 * @param prefix Prefix to look for.
+	 * @return Number of elements.
+	 */
+	public int countWithPrefix(String prefix){
+		prefix = normalize(prefix);
+		int first = lowerBound(prefix);
+		//strings starting with prefix are together from first position
+		int low = first, high = keys.length;
+		while(low < high){
+			int mid = (low + high) >>> 1;
+			if(keys[mid].startsWith(prefix))
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low - first;
+	}
+	/**
+	 * Asks if strings are compared ignoring case.
+	 * @return true if case is ignored, false otherwise.
+	 */
+	public boolean isIgnoringCase(){
+		return ignore_case;
+	}
+	/**
+	 * Returns number of indexed elements.
+	 * @return Size of the index.
+	 */
+	public int size(){
+		return keys.length;
+	}
+	
+	// PRIVATE METHODS
+	
+	/*
+	 * Returns the position of the first sorted key that is not lesser than
+	 * the given text.
+	 */
+	private int lowerBound(String text){
+		int low = 0, high = keys.length;
+		while(low < high){
+			int mid = (low + high) >>> 1;
+			if(keys[mid].compareTo(text) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	private String normalize(String text){
+		return ignore_case ? text.toLowerCase(Locale.ROOT) : text;
+	}
+	/*
+	 * Sorts element indices in [low, high) by their strings, equal strings
+	 * by index, merging halves through aux.
+	 */
+	private static void sort(int[] order, int[] aux, String[] strings, int low, int high){
+		if(high - low <= 16){
+			for(int i = low + 1; i < high; i++){
+				int current = order[i];
+				int j = i;
+				for(; j > low && compare(strings, order[j - 1], current) > 0; j--)
+					order[j] = order[j - 1];
+				order[j] = current;
+			}
+			return;
+		}
+		int mid = (low + high) >>> 1;
+		sort(order, aux, strings, low, mid);
+		sort(order, aux, strings, mid, high);
+		if(compare(strings, order[mid - 1], order[mid]) <= 0)
+			return;
+		System.arraycopy(order, low, aux, low, high - low);
+		int i = low, j = mid;
+		for(int k = low; k < high; k++){
+			if(j >= high || (i < mid && compare(strings, aux[i], aux[j]) <= 0))
+				order[k] = aux[i++];
+			else
+				order[k] = aux[j++];
+		}
+	}
+	private static int compare(String[] strings, int a, int b){
+		int ret = strings[a].compareTo(strings[b]);
+		//indices are not negative, difference does not overflow
+		return ret != 0 ? ret : a - b;
+	}
+}
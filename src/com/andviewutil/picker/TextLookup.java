@@ -0,0 +1,56 @@
+//	LICENSE:
+//	TextLookup.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+/**
+ * Lookup of elements by their display string. PickerText resolves edits
+ * with it. An ElementSource that does not hold its elements in memory can
+ * implement it, for example with database queries, so edits are resolved
+ * without loading every element.
+ * @author GuillermoBlascoJimenez
+ * @version 1.1 Picker
+ * @version 1.3 AndViewUtils
+ */
+public interface TextLookup {
+
+	/**
+	 * Returns the index of the first element displayed as the given text.
+	 * @param text Text to look for.
+	 * @return Element index or -1 if there is no element displayed as text.
+	 */
+	public int indexOf(String text);
+	/**
+	 * Asks if some element is displayed with a string starting with the
+	 * given prefix.
+	 * @param prefix Prefix to look for.
+	 * @return true if there is some element, false otherwise.
+	 */
+	public boolean hasPrefix(String prefix);
+	/**
+	 * Returns the index of the first element, in string order, displayed
+	 * with a string starting with the given prefix.
+	 * @param prefix Prefix to look for.
+	 * @return Element index or -1 if there is no such element.
+	 */
+	public int firstWithPrefix(String prefix);
+	/**
+	 * Returns the number of elements displayed with a string starting with
+	 * the given prefix.
+	 * @param prefix Prefix to look for.
+	 * @return Number of elements.
+	 */
+	public int countWithPrefix(String prefix);
+}
@@ -0,0 +1,179 @@
+//	LICENSE:
+//	LatestPublisher.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.reactive;
+
+/**
+ * Publisher of the latest value of something that changes. Items are not
+ * buffered: a subscriber without demand keeps only the latest item, which
+ * is delivered when it requests more. So a slow subscriber always receives
+ * the current value, never a backlog.
+ * 
+ * Items are delivered on the thread that publishes them or on the thread 
+ * that requests them, never to a subscriber from two threads at once.
+ * @param T Class of items.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Reactive
+ * @version 1.3 AndViewUtils
+ */
+public class LatestPublisher<T> implements Publisher<T> {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*subscriptions, array is replaced on every change*/
+	private volatile LatestSubscription<?>[] subscriptions = new LatestSubscription<?>[0];
+	
+	// PUBLIC METHODS
+	
+	public void subscribe(Subscriber<? super T> subscriber) {
+		LatestSubscription<T> subscription = new LatestSubscription<T>(this, subscriber);
+		synchronized(this){
+			LatestSubscription<?>[] current = subscriptions;
+			LatestSubscription<?>[] aux = new LatestSubscription<?>[current.length + 1];
+			System.arraycopy(current, 0, aux, 0, current.length);
+			aux[current.length] = subscription;
+			subscriptions = aux;
+		}
+		subscriber.onSubscribe(subscription);
+	}
+	/**
+	 * Publishes a new value to all subscribers.
+	 * @param item New value.
+	 */
+	@SuppressWarnings("unchecked")
+	public void publish(T item){
+		LatestSubscription<?>[] current = subscriptions;
+		for(int i = 0; i < current.length; i++)
+			((LatestSubscription<T>)current[i]).offer(item);
+	}
+	/**
+	 * Completes all subscribers, they are removed.
+	 */
+	public void complete(){
+		LatestSubscription<?>[] current;
+		synchronized(this){
+			current = subscriptions;
+			subscriptions = new LatestSubscription<?>[0];
+		}
+		for(int i = 0; i < current.length; i++)
+			current[i].complete();
+	}
+	/**
+	 * Asks if there is some subscriber.
+	 * @return true if there is, false otherwise.
+	 */
+	public boolean hasSubscribers(){
+		return subscriptions.length > 0;
+	}
+	
+	// PRIVATE METHODS
+	
+	private synchronized void remove(LatestSubscription<?> subscription){
+		LatestSubscription<?>[] current = subscriptions;
+		for(int i = 0; i < current.length; i++)
+			if(current[i] == subscription){
+				LatestSubscription<?>[] aux = new LatestSubscription<?>[current.length - 1];
+				System.arraycopy(current, 0, aux, 0, i);
+				System.arraycopy(current, i + 1, aux, i, current.length - i - 1);
+				subscriptions = aux;
+				return;
+			}
+	}
+	
+	// PRIVATE CLASSES
+	
+	/*
+	 * Subscription holding the latest undelivered item.
+	 */
+	private static final class LatestSubscription<T> implements Subscription {
+		private final LatestPublisher<T> publisher;
+		private final Subscriber<? super T> subscriber;
+		/*outstanding demand, Long.MAX_VALUE is unbounded*/
+		private long requested = 0;
+		/*latest undelivered item, null if there is none*/
+		private T latest;
+		/*true while some thread is delivering*/
+		private boolean emitting = false;
+		private boolean cancelled = false;
+		
+		LatestSubscription(LatestPublisher<T> publisher, Subscriber<? super T> subscriber){
+			this.publisher = publisher;
+			this.subscriber = subscriber;
+		}
+		public void request(long n) {
+			if(n <= 0){
+				cancel();
+				subscriber.onError(new IllegalArgumentException("Request must be positive"));
+				return;
+			}
+			synchronized(this){
+				if(cancelled)
+					return;
+				requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+				if(emitting)
+					return;
+				emitting = true;
+			}
+			drain();
+		}
+		public void cancel() {
+			synchronized(this){
+				cancelled = true;
+				latest = null;
+			}
+			publisher.remove(this);
+		}
+		void offer(T item){
+			synchronized(this){
+				if(cancelled)
+					return;
+				latest = item;
+				if(emitting)
+					return;
+				emitting = true;
+			}
+			drain();
+		}
+		void complete(){
+			synchronized(this){
+				if(cancelled)
+					return;
+				cancelled = true;
+				latest = null;
+			}
+			subscriber.onComplete();
+		}
+		/*
+		 * Delivers latest item while there is demand. Items published or
+		 * requested by other threads meanwhile are delivered by this loop.
+		 */
+		private void drain(){
+			while(true){
+				T item;
+				synchronized(this){
+					if(cancelled || latest == null || requested == 0){
+						emitting = false;
+						return;
+					}
+					item = latest;
+					latest = null;
+					if(requested != Long.MAX_VALUE)
+						requested--;
+				}
+				subscriber.onNext(item);
+			}
+		}
+	}
+}
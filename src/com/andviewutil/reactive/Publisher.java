@@ -0,0 +1,35 @@
+//	LICENSE:
+//	Publisher.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.reactive;
+
+/**
+ * Producer of items for subscribers that signal their demand. Same contract
+ * as java.util.concurrent.Flow.Publisher, which is not available on the 
+ * Android versions supported by this library.
+ * @param T Class of items.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Reactive
+ * @version 1.3 AndViewUtils
+ */
+public interface Publisher<T> {
+
+	/**
+	 * Adds a subscriber. It receives onSubscribe(..) with its subscription
+	 * and then one item per requested item.
+	 * @param subscriber Subscriber to add.
+	 */
+	public void subscribe(Subscriber<? super T> subscriber);
+}
@@ -0,0 +1,47 @@
+//	LICENSE:
+//	Subscriber.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.reactive;
+
+/**
+ * Receiver of items of a Publisher. Same contract as 
+ * java.util.concurrent.Flow.Subscriber.
+ * @param T Class of items.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Reactive
+ * @version 1.3 AndViewUtils
+ */
+public interface Subscriber<T> {
+
+	/**
+	 * Called once, before any other method, when subscriber is added.
+	 * @param subscription Subscription to request items or cancel.
+	 */
+	public void onSubscribe(Subscription subscription);
+	/**
+	 * Called with each requested item.
+	 * @param item Next item.
+	 */
+	public void onNext(T item);
+	/**
+	 * Called when publisher fails. No more items are received.
+	 * @param throwable Cause of failure.
+	 */
+	public void onError(Throwable throwable);
+	/**
+	 * Called when publisher has no more items.
+	 */
+	public void onComplete();
+}
@@ -0,0 +1,36 @@
+//	LICENSE:
+//	Subscription.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.reactive;
+
+/**
+ * Link between a Publisher and a Subscriber. Same contract as 
+ * java.util.concurrent.Flow.Subscription.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Reactive
+ * @version 1.3 AndViewUtils
+ */
+public interface Subscription {
+
+	/**
+	 * Adds demand of items.
+	 * @param n Number of items, must be positive.
+	 */
+	public void request(long n);
+	/**
+	 * Stops receiving items.
+	 */
+	public void cancel();
+}
@@ -0,0 +1,32 @@
+//	LICENSE:
+//	Clock.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+/**
+ * Source of the current time used to schedule timed behavior, like long 
+ * click repeats. It can be replaced by a ManualScheduler to control time.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Timer
+ * @version 1.3 AndViewUtils
+ */
+public interface Clock {
+
+	/**
+	 * Returns current time of a monotonic clock.
+	 * @return Milliseconds, only differences between two calls are meaningful.
+	 */
+	public long uptimeMillis();
+}
@@ -0,0 +1,35 @@
+//	LICENSE:
+//	FrameScheduler.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+/**
+ * Runs tasks on the next display frame. Used to coalesce several view
+ * actualizations into a single one per frame.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Timer
+ * @version 1.3 AndViewUtils
+ */
+public interface FrameScheduler {
+
+	/** default frame period, 60 frames per second */
+	public static final long DEFAULT_FRAME_PERIOD = 16; //ms
+
+	/**
+	 * Posts a task to be run once on the next frame.
+	 * @param task Task to run.
+	 */
+	public void postFrame(Runnable task);
+}
@@ -0,0 +1,73 @@
+//	LICENSE:
+//	HandlerFrameScheduler.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/**
+ * Frame scheduler that posts tasks on a Handler at the next boundary of a
+ * fixed frame period. It does not need Choreographer, so it works on every
+ * API level.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Timer
+ * @version 1.3 AndViewUtils
+ */
+public class HandlerFrameScheduler implements FrameScheduler {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*handler where tasks are posted*/
+	private final Handler handler;
+	/*milliseconds between frames*/
+	private final long frame_period;
+	
+	// PUBLIC CONSTRUCTORS
+	
+	/**
+	 * Builds a frame scheduler on the main thread with default frame period.
+	 */
+	public HandlerFrameScheduler(){
+		this(new Handler(Looper.getMainLooper()), DEFAULT_FRAME_PERIOD);
+	}
+	/**
+	 * Builds a frame scheduler.
+	 * @param handler Handler where tasks are posted.
+	 * @param frame_period Milliseconds between frames.
+	 */
+	public HandlerFrameScheduler(Handler handler, long frame_period){
+		if(frame_period <= 0)
+			throw new IllegalArgumentException("Frame period must be positive");
+		this.handler = handler;
+		this.frame_period = frame_period;
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns milliseconds between frames.
+	 * @return Frame period.
+	 */
+	public long getFramePeriod(){
+		return frame_period;
+	}
+	
+	public void postFrame(Runnable task) {
+		long now = SystemClock.uptimeMillis();
+		handler.postAtTime(task, now - (now % frame_period) + frame_period);
+	}
+}
@@ -0,0 +1,88 @@
+//	LICENSE:
+//	HandlerScheduler.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Scheduler that posts tasks on an Android Handler. Tasks run on the Looper
+ * thread of the handler, so using the main Looper they can modify views
+ * directly.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Timer
+ * @version 1.3 AndViewUtils
+ */
+public class HandlerScheduler implements TaskScheduler {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*handler where tasks are posted*/
+	private final Handler handler;
+	
+	// PUBLIC CONSTRUCTORS
+	
+	/**
+	 * Builds a scheduler that runs tasks on the main thread.
+	 */
+	public HandlerScheduler(){
+		this(new Handler(Looper.getMainLooper()));
+	}
+	/**
+	 * Builds a scheduler that posts on the given handler.
+	 * @param handler Handler where tasks are posted.
+	 */
+	public HandlerScheduler(Handler handler){
+		this.handler = handler;
+	}
+	
+	// PUBLIC METHODS
+	
+	public ScheduledTask schedule(Runnable task, long delay) {
+		final HandlerTask scheduled = new HandlerTask(task);
+		handler.postDelayed(scheduled, delay);
+		return scheduled;
+	}
+	
+	// PRIVATE CLASSES
+	
+	/*
+	 * Posted runnable, it is also its own cancel handle.
+	 */
+	private class HandlerTask implements Runnable, ScheduledTask {
+		private final Runnable task;
+		private boolean done = false;
+		
+		HandlerTask(Runnable task){
+			this.task = task;
+		}
+		public void run() {
+			synchronized(this){
+				if(done) return;
+				done = true;
+			}
+			task.run();
+		}
+		public boolean cancel() {
+			synchronized(this){
+				if(done) return false;
+				done = true;
+			}
+			handler.removeCallbacks(this);
+			return true;
+		}
+	}
+}
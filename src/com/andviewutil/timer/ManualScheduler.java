@@ -0,0 +1,157 @@
+//	LICENSE:
+//	ManualScheduler.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+import java.util.PriorityQueue;
+
+/**
+ * Deterministic scheduler and clock whose time only moves when it is
+ * advanced by hand. Due tasks are run by the thread that advances it, in 
+ * order of time and then of scheduling, so timed behavior can be exercised
+ * without waiting.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Timer
+ * @version 1.3 AndViewUtils
+ */
+public class ManualScheduler implements TaskScheduler, Clock {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*pending tasks, earliest first*/
+	private final PriorityQueue<ManualTask> queue = new PriorityQueue<ManualTask>();
+	/*current time*/
+	private long now;
+	/*order of scheduling, breaks ties between tasks of the same time*/
+	private long sequence = 0;
+	
+	// PUBLIC CONSTRUCTORS
+	
+	/**
+	 * Builds a scheduler at time 0.
+	 */
+	public ManualScheduler(){
+		this(0);
+	}
+	/**
+	 * Builds a scheduler at the given time.
+	 * @param now Initial time in milliseconds.
+	 */
+	public ManualScheduler(long now){
+		this.now = now;
+	}
+	
+	// PUBLIC METHODS
+	
+	public synchronized long uptimeMillis() {
+		return now;
+	}
+	public synchronized ScheduledTask schedule(Runnable task, long delay) {
+		ManualTask scheduled = new ManualTask(task, now + Math.max(delay, 0), sequence++);
+		queue.add(scheduled);
+		return scheduled;
+	}
+	/**
+	 * Moves time forward running the tasks that become due.
+	 * @param millis Milliseconds to advance.
+	 * @return Number of tasks run.
+	 */
+	public int advanceBy(long millis){
+		return advanceTo(uptimeMillis() + millis);
+	}
+	/**
+	 * Moves time up to the given time running the tasks that become due. 
+	 * Tasks scheduled meanwhile are also run if they are due. While a task
+	 * runs the time is its scheduled time. Time never goes back.
+	 * @param time Time to reach in milliseconds.
+	 * @return Number of tasks run.
+	 */
+	public int advanceTo(long time){
+		int count = 0;
+		while(true){
+			ManualTask task;
+			synchronized(this){
+				task = queue.peek();
+				if(task == null || task.time > time){
+					if(time > now)
+						now = time;
+					return count;
+				}
+				queue.poll();
+				now = task.time;
+			}
+			if(task.run())
+				count++;
+		}
+	}
+	/**
+	 * Runs the tasks that are due at current time.
+	 * @return Number of tasks run.
+	 */
+	public int runDue(){
+		return advanceTo(uptimeMillis());
+	}
+	/**
+	 * Returns the number of tasks waiting to be run.
+	 * @return Pending tasks.
+	 */
+	public synchronized int getPendingTasks(){
+		return queue.size();
+	}
+	/**
+	 * Returns the time of the next pending task.
+	 * @return Milliseconds or Long.MAX_VALUE if there are no pending tasks.
+	 */
+	public synchronized long getNextTaskTime(){
+		ManualTask task = queue.peek();
+		return task == null ? Long.MAX_VALUE : task.time;
+	}
+	
+	// PRIVATE CLASSES
+	
+	private class ManualTask implements ScheduledTask, Comparable<ManualTask> {
+		private final Runnable task;
+		private final long time;
+		private final long sequence;
+		private boolean done = false;
+		
+		ManualTask(Runnable task, long time, long sequence){
+			this.task = task;
+			this.time = time;
+			this.sequence = sequence;
+		}
+		boolean run(){
+			synchronized(ManualScheduler.this){
+				if(done) return false;
+				done = true;
+			}
+			task.run();
+			return true;
+		}
+		public boolean cancel() {
+			synchronized(ManualScheduler.this){
+				if(done) return false;
+				done = true;
+				queue.remove(this);
+				return true;
+			}
+		}
+		public int compareTo(ManualTask other) {
+			if(time != other.time)
+				return time < other.time ? -1 : 1;
+			return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+//	LICENSE:
+//	SharedThreadScheduler.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler that runs every task on a single daemon thread. The thread is
+ * created on first use and shared by all users of the scheduler.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Timer
+ * @version 1.3 AndViewUtils
+ */
+public class SharedThreadScheduler implements TaskScheduler {
+
+	// PRIVATE ATTRIBUTES
+	
+	/*shared instance, created on first call to getInstance()*/
+	private static SharedThreadScheduler instance;
+	/*executor backed by a single thread*/
+	private final ScheduledThreadPoolExecutor executor;
+	
+	// PUBLIC CONSTRUCTOR
+	
+	/**
+	 * Builds a scheduler with its own thread.
+	 * @param name Name of the scheduler thread.
+	 */
+	public SharedThreadScheduler(final String name){
+		this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory(){
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, name);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	// PUBLIC METHODS
+	
+	/**
+	 * Returns the scheduler shared by the whole library.
+	 * @return Shared scheduler.
+	 */
+	public static synchronized SharedThreadScheduler getInstance(){
+		if(instance == null)
+			instance = new SharedThreadScheduler("AndViewUtil-timer");
+		return instance;
+	}
+	
+	public ScheduledTask schedule(Runnable task, long delay) {
+		final ScheduledFuture<?> future = executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+		return new ScheduledTask(){
+			public boolean cancel() {
+				if(!future.cancel(false))
+					return false;
+				//remove it from the queue instead of keeping it until its deadline
+				executor.remove((Runnable)future);
+				return true;
+			}
+		};
+	}
+}
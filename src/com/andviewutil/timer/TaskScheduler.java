@@ -0,0 +1,34 @@
+//	LICENSE:
+//	TaskScheduler.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+/**
+ * Schedules one-shot delayed tasks. Implementations are shared between many
+ * objects, so scheduling a task must not create a thread.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Timer
+ * @version 1.3 AndViewUtils
+ */
+public interface TaskScheduler {
+
+	/**
+	 * Schedules a task to be run once after the given delay.
+	 * @param task Task to run.
+	 * @param delay Milliseconds to wait before running the task.
+	 * @return Handle that allows to cancel the task.
+	 */
+	public ScheduledTask schedule(Runnable task, long delay);
+}
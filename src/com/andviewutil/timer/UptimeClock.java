@@ -0,0 +1,42 @@
+//	LICENSE:
+//	UptimeClock.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+import android.os.SystemClock;
+
+/**
+ * Clock backed by SystemClock.uptimeMillis(), the time base of Android
+ * Handlers.
+ * @author GuillermoBlascoJimenez
+ * @version 1.0 Timer
+ * @version 1.3 AndViewUtils
+ */
+public class UptimeClock implements Clock {
+
+	/*shared instance, the clock has no state*/
+	private static final UptimeClock INSTANCE = new UptimeClock();
+	
+	/**
+	 * Returns the shared instance.
+	 * @return Uptime clock.
+	 */
+	public static UptimeClock getInstance(){
+		return INSTANCE;
+	}
+	public long uptimeMillis() {
+		return SystemClock.uptimeMillis();
+	}
+}
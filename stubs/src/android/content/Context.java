@@ -0,0 +1,12 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.content;
+
+import android.content.res.Resources;
+
+public class Context {
+	public Resources getResources(){
+		return null;
+	}
+}
@@ -0,0 +1,13 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.graphics;
+
+public class Bitmap {
+	public int getRowBytes(){
+		return 0;
+	}
+	public int getHeight(){
+		return 0;
+	}
+}
@@ -0,0 +1,21 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.graphics;
+
+import android.content.res.Resources;
+
+public class BitmapFactory {
+	public static class Options {
+		public boolean inJustDecodeBounds;
+		public int inSampleSize;
+		public int outWidth;
+		public int outHeight;
+	}
+	public static Bitmap decodeResource(Resources res, int id){
+		return null;
+	}
+	public static Bitmap decodeResource(Resources res, int id, Options opts){
+		return null;
+	}
+}
@@ -0,0 +1,18 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.graphics.drawable;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+
+public class BitmapDrawable extends Drawable {
+	private final Bitmap bitmap;
+	
+	public BitmapDrawable(Resources res, Bitmap bitmap){
+		this.bitmap = bitmap;
+	}
+	public final Bitmap getBitmap(){
+		return bitmap;
+	}
+}
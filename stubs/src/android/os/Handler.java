@@ -0,0 +1,23 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.os;
+
+/*
+ * Posted runnables are dropped, there is no Looper on a plain JVM.
+ */
+public class Handler {
+	public Handler(Looper looper){
+	}
+	public boolean post(Runnable r){
+		return true;
+	}
+	public boolean postDelayed(Runnable r, long delay){
+		return true;
+	}
+	public boolean postAtTime(Runnable r, long uptime){
+		return true;
+	}
+	public void removeCallbacks(Runnable r){
+	}
+}
@@ -0,0 +1,10 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.text;
+
+public interface TextWatcher {
+	public void beforeTextChanged(CharSequence s, int start, int count, int after);
+	public void onTextChanged(CharSequence s, int start, int before, int count);
+	public void afterTextChanged(Editable s);
+}
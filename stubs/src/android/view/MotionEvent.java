@@ -0,0 +1,29 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.view;
+
+public final class MotionEvent {
+	public static final int ACTION_DOWN = 0;
+	public static final int ACTION_UP = 1;
+	public static final int ACTION_MOVE = 2;
+	public static final int ACTION_CANCEL = 3;
+	public static final int ACTION_OUTSIDE = 4;
+	
+	private final int action;
+	private final long event_time;
+	
+	/*
+	 * Not on Android, where events are obtained from MotionEvent.obtain(..).
+	 */
+	public MotionEvent(int action, long event_time){
+		this.action = action;
+		this.event_time = event_time;
+	}
+	public final int getAction(){
+		return action;
+	}
+	public final long getEventTime(){
+		return event_time;
+	}
+}
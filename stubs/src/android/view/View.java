@@ -0,0 +1,54 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.view;
+
+import android.content.res.Resources;
+import android.os.Handler;
+
+public class View {
+	public interface OnClickListener {
+		public void onClick(View v);
+	}
+	public interface OnLongClickListener {
+		public boolean onLongClick(View v);
+	}
+	public interface OnTouchListener {
+		public boolean onTouch(View v, MotionEvent event);
+	}
+	
+	private boolean pressed = false;
+	private OnTouchListener touch_listener;
+	
+	public void setOnClickListener(OnClickListener l){
+	}
+	public void setOnLongClickListener(OnLongClickListener l){
+	}
+	public void setOnTouchListener(OnTouchListener l){
+		this.touch_listener = l;
+	}
+	public boolean dispatchTouchEvent(MotionEvent event){
+		return touch_listener != null && touch_listener.onTouch(this, event);
+	}
+	public void setPressed(boolean pressed){
+		this.pressed = pressed;
+	}
+	public boolean isPressed(){
+		return pressed;
+	}
+	public Handler getHandler(){
+		return null;
+	}
+	public boolean post(Runnable action){
+		return true;
+	}
+	public int getWidth(){
+		return 0;
+	}
+	public int getHeight(){
+		return 0;
+	}
+	public Resources getResources(){
+		return null;
+	}
+}
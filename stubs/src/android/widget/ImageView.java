@@ -0,0 +1,23 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+public class ImageView extends View {
+	private Drawable drawable;
+	
+	public void setImageDrawable(Drawable drawable){
+		this.drawable = drawable;
+	}
+	public void setImageResource(int id){
+	}
+	public void setImageBitmap(Bitmap bitmap){
+	}
+	public Drawable getDrawable(){
+		return drawable;
+	}
+}
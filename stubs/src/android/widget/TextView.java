@@ -0,0 +1,34 @@
+//	Stand-in of the Android class of the same name, only the members used by
+//	AndViewUtil. It lets the library be compiled and run on a plain JVM by the
+//	test and jmh modules, it is never packaged with the library.
+package android.widget;
+
+import android.text.TextWatcher;
+import android.view.View;
+
+public class TextView extends View {
+	private CharSequence text = "";
+	/*chars given to setText(char[], ..), kept without copy like Android*/
+	private char[] chars;
+	private int start;
+	private int len;
+	
+	public void addTextChangedListener(TextWatcher watcher){
+	}
+	public void setText(CharSequence text){
+		this.text = text;
+		this.chars = null;
+	}
+	public void setText(char[] text, int start, int len){
+		this.chars = text;
+		this.start = start;
+		this.len = len;
+	}
+	public CharSequence getText(){
+		if(chars != null){
+			text = new String(chars, start, len);
+			chars = null;
+		}
+		return text;
+	}
+}
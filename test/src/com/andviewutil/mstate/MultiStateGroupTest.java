@@ -0,0 +1,127 @@
+//	LICENSE:
+//	MultiStateGroupTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.andviewutil.timer.ManualScheduler;
+
+/**
+ * Selection of a MultiStateGroup when members are touched.
+ * @author GuillermoBlascoJimenez
+ */
+public class MultiStateGroupTest {
+
+	private static final int SELECTED = 1;
+	private static final int UNSELECTED = 0;
+	
+	private MultiStateGroup<Object> group;
+	private ToggleObject[] members;
+
+	@Before
+	public void setUp() {
+		ManualScheduler scheduler = new ManualScheduler();
+		group = new MultiStateGroup<Object>(SELECTED, UNSELECTED);
+		members = new ToggleObject[3];
+		for(int i = 0; i < members.length; i++){
+			members[i] = new ToggleObject();
+			members[i].setScheduler(scheduler);
+			group.add(members[i]);
+		}
+	}
+	@Test
+	public void touchedMemberBecomesSelected() {
+		group.select(0);
+		click(members[2]);
+		assertEquals(2, group.getSelected());
+		assertEquals(UNSELECTED, members[0].getLastStableState());
+		assertEquals(SELECTED, members[2].getLastStableState());
+	}
+	@Test
+	public void touchedSelectedMemberLeavesNoSelection() {
+		group.select(1);
+		click(members[1]);
+		assertEquals(MultiStateGroup.NO_SELECTION, group.getSelected());
+		//selection works again from no selection
+		group.select(0);
+		assertEquals(SELECTED, members[0].getLastStableState());
+		assertEquals(UNSELECTED, members[1].getLastStableState());
+	}
+	@Test
+	public void selectAfterTouchOnlyResetsTouchedMember() {
+		click(members[1]);
+		group.select(2);
+		assertEquals(2, group.getSelected());
+		assertEquals(UNSELECTED, members[1].getLastStableState());
+		assertEquals(SELECTED, members[2].getLastStableState());
+	}
+	@Test
+	public void setStatesDeselectsPreviousMember() {
+		group.select(0);
+		group.setStates(new int[]{MultiStateObject.RETURN_IGNORE_STATE, SELECTED, UNSELECTED});
+		assertEquals(1, group.getSelected());
+		assertEquals(UNSELECTED, members[0].getLastStableState());
+		assertEquals(SELECTED, members[1].getLastStableState());
+		//group is still exclusive after the batch
+		group.select(2);
+		assertEquals(UNSELECTED, members[1].getLastStableState());
+		assertEquals(SELECTED, members[2].getLastStableState());
+	}
+	@Test
+	public void setStatesWithoutSelectedStateClearsSelection() {
+		group.select(1);
+		group.setStates(new int[]{UNSELECTED, UNSELECTED, MultiStateObject.RETURN_IGNORE_STATE});
+		assertEquals(MultiStateGroup.NO_SELECTION, group.getSelected());
+	}
+	@Test
+	public void setStatesRejectsSeveralSelectedMembers() {
+		group.select(2);
+		try{
+			group.setStates(new int[]{SELECTED, SELECTED, UNSELECTED});
+			fail("Batch with two selected members accepted");
+		}catch(IllegalArgumentException e){
+			//nothing is applied
+		}
+		assertEquals(2, group.getSelected());
+		assertEquals(UNSELECTED, members[0].getLastStableState());
+		assertEquals(UNSELECTED, members[1].getLastStableState());
+		assertEquals(SELECTED, members[2].getLastStableState());
+	}
+	
+	private static void click(MultiStateObject<?> member){
+		member.performActionDown();
+		member.performActionUp();
+	}
+	
+	/*
+	 * Clicks toggle between selected and unselected states.
+	 */
+	private static class ToggleObject extends MultiStateObject<Object> {
+		ToggleObject(){
+			super(null, UNSELECTED);
+		}
+		@Override
+		protected void actualizeOnState(Object target, int state) {}
+		@Override
+		protected int actualizeState(Object target, int last_state, boolean long_click) {
+			return last_state == SELECTED ? UNSELECTED : SELECTED;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+//	LICENSE:
+//	MultiStateObjectStressTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.andviewutil.timer.ManualScheduler;
+import com.andviewutil.timer.SharedThreadScheduler;
+
+/**
+ * Hammers one MultiStateObject from several threads. Short clicks move the
+ * stable state one up and long clicks move it LONG up, so a lost transition
+ * or a stray long click leaves a wrong final state.
+ * @author GuillermoBlascoJimenez
+ */
+public class MultiStateObjectStressTest {
+
+	private static final int THREADS = 8;
+	private static final int CLICKS = 50000;
+	/*clicks per thread when long clicks race, total fits below LONG*/
+	private static final int RACING_CLICKS = 1000;
+	/*state added by a long click*/
+	private static final int LONG = 1 << 16;
+	
+	@Test
+	public void concurrentClicksAreNotLost() throws InterruptedException {
+		CountingObject object = new CountingObject();
+		ManualScheduler scheduler = new ManualScheduler();
+		object.setScheduler(scheduler);
+		//long click never reached during the test
+		object.setLongClickDelay(Integer.MAX_VALUE);
+		hammer(object, CLICKS);
+		assertEquals(THREADS * CLICKS, object.getLastStableState());
+		assertEquals(THREADS * CLICKS, object.getCurrentState());
+		assertFalse(object.isClicked());
+		//every deadline armed by a touch has been cancelled
+		assertEquals(0, scheduler.getPendingTasks());
+	}
+	@Test
+	public void concurrentLongClicksAreNotLost() throws InterruptedException {
+		CountingObject object = new CountingObject();
+		//long click deadline races with every action up
+		object.setScheduler(new SharedThreadScheduler("stress"));
+		object.setLongClickDelay(0);
+		hammer(object, RACING_CLICKS);
+		int state = object.getLastStableState();
+		int short_clicks = state % LONG;
+		int long_clicks = state / LONG;
+		assertEquals(THREADS * RACING_CLICKS, short_clicks + long_clicks);
+		assertEquals(state, object.getCurrentState());
+		assertFalse(object.isClicked());
+		assertFalse(object.isLongClicked());
+	}
+	@Test
+	public void longClickIsToldFromShortClick() {
+		CountingObject object = new CountingObject();
+		ManualScheduler scheduler = new ManualScheduler();
+		object.setScheduler(scheduler);
+		object.setLongClickDelay(100);
+		object.performActionDown();
+		scheduler.advanceBy(99);
+		object.performActionUp();
+		assertEquals(1, object.getLastStableState());
+		object.performActionDown();
+		scheduler.advanceBy(100);
+		object.performActionUp();
+		assertEquals(1 + LONG, object.getLastStableState());
+		assertEquals(0, scheduler.getPendingTasks());
+	}
+	@Test
+	public void transitionIsAskedOncePerClick() {
+		final int[] asked = new int[1];
+		MultiStateObject<Object> object = new MultiStateObject<Object>(null, 0){
+			@Override
+			protected void actualizeOnState(Object target, int state) {}
+			@Override
+			protected int actualizeState(Object target, int last_state, boolean long_click) {
+				//touch ends meanwhile, so the first compare and set fails
+				if(asked[0]++ == 0)
+					performActionCancel();
+				return last_state + 1;
+			}
+		};
+		object.setScheduler(new ManualScheduler());
+		object.performActionDown();
+		object.performActionUp();
+		assertEquals(1, asked[0]);
+		assertEquals(1, object.getLastStableState());
+	}
+	@Test
+	public void setStateWhileClickedIsAppliedAfterClick() throws InterruptedException {
+		final CountingObject object = new CountingObject();
+		object.setLongClickDelay(Integer.MAX_VALUE);
+		final int sets = 100000;
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread setter = new Thread(){
+			public void run(){
+				await(start);
+				for(int i = 1; i <= sets; i++)
+					object.setState(-10 - i);
+			}
+		};
+		setter.start();
+		start.countDown();
+		for(int i = 0; i < sets; i++){
+			object.performActionDown();
+			object.performActionCancel();
+		}
+		setter.join();
+		//cancel keeps last stable state, so the last set state must survive
+		assertEquals(-10 - sets, object.getLastStableState());
+		assertEquals(-10 - sets, object.getCurrentState());
+	}
+	
+	private static void hammer(final MultiStateObject<?> object, final int clicks) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[THREADS];
+		for(int t = 0; t < THREADS; t++){
+			threads[t] = new Thread(){
+				public void run(){
+					await(start);
+					for(int i = 0; i < clicks; i++){
+						object.performActionDown();
+						object.performActionUp();
+					}
+				}
+			};
+			threads[t].start();
+		}
+		start.countDown();
+		for(int t = 0; t < THREADS; t++)
+			threads[t].join();
+	}
+	private static void await(CountDownLatch latch){
+		try{
+			latch.await();
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/*
+	 * Short clicks add 1 to the state, long clicks add LONG.
+	 */
+	private static class CountingObject extends MultiStateObject<Object> {
+		CountingObject(){
+			super(null, 0);
+		}
+		@Override
+		protected void actualizeOnState(Object target, int state) {}
+		@Override
+		protected int actualizeState(Object target, int last_state, boolean long_click) {
+			return last_state + (long_click ? LONG : 1);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+//	LICENSE:
+//	StateTableTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.andviewutil.timer.ManualScheduler;
+
+/**
+ * Transitions of a MultiStateObject resolved by a StateTable and by
+ * actualizeState(..) when the table has none.
+ * @author GuillermoBlascoJimenez
+ */
+public class StateTableTest {
+
+	private static final int LONG_CLICK_DELAY = 100;
+	
+	private StateTable table;
+	private ManualScheduler scheduler;
+	private FallbackObject object;
+
+	@Before
+	public void setUp() {
+		table = new StateTable.Builder()
+				.onClick(0, 1)
+				.onLongClick(0, 2)
+				.onAnyClick(1, MultiStateObject.RETURN_IGNORE_STATE)
+				.addState(3)
+				.build();
+		scheduler = new ManualScheduler();
+		object = new FallbackObject();
+		object.setScheduler(scheduler);
+		object.setLongClickDelay(LONG_CLICK_DELAY);
+		object.setStateTable(table);
+	}
+	@Test
+	public void tableHit() {
+		assertEquals(1, table.next(0, false));
+		assertEquals(2, table.next(0, true));
+		click();
+		assertEquals(1, object.getLastStableState());
+		assertEquals(0, object.asked);
+		object.setState(0);
+		longClick();
+		assertEquals(2, object.getLastStableState());
+		assertEquals(0, object.asked);
+	}
+	@Test
+	public void tableMissFallsBackToActualizeState() {
+		assertEquals(StateTable.NO_TRANSITION, table.next(3, false));
+		assertEquals(StateTable.NO_TRANSITION, table.next(2, false));
+		assertEquals(StateTable.NO_TRANSITION, table.next(100, true));
+		object.setState(3);
+		click();
+		assertEquals(13, object.getLastStableState());
+		object.setState(2);
+		longClick();
+		assertEquals(112, object.getLastStableState());
+		assertEquals(2, object.asked);
+	}
+	@Test
+	public void returnIgnoreStateKeepsState() {
+		assertEquals(MultiStateObject.RETURN_IGNORE_STATE, table.next(1, false));
+		object.setState(1);
+		click();
+		assertEquals(1, object.getLastStableState());
+		assertEquals(1, object.getCurrentState());
+		longClick();
+		assertEquals(1, object.getLastStableState());
+		assertEquals(0, object.asked);
+		//fallback returning RETURN_IGNORE_STATE keeps state too
+		object.setState(-10);
+		click();
+		assertEquals(-10, object.getLastStableState());
+		assertEquals(1, object.asked);
+	}
+	@Test
+	public void withoutTableEveryClickFallsBack() {
+		object.setStateTable(null);
+		click();
+		assertEquals(10, object.getLastStableState());
+		assertEquals(1, object.asked);
+	}
+	
+	private void click(){
+		object.performActionDown();
+		object.performActionUp();
+	}
+	private void longClick(){
+		object.performActionDown();
+		scheduler.advanceBy(LONG_CLICK_DELAY);
+		object.performActionUp();
+	}
+	
+	/*
+	 * Short clicks add 10 to the state, long clicks add 110, negative 
+	 * states are kept.
+	 */
+	private static class FallbackObject extends MultiStateObject<Object> {
+		private int asked = 0;
+		
+		FallbackObject(){
+			super(null, 0);
+		}
+		@Override
+		protected void actualizeOnState(Object target, int state) {}
+		@Override
+		protected int actualizeState(Object target, int last_state, boolean long_click) {
+			asked++;
+			if(last_state < 0)
+				return RETURN_IGNORE_STATE;
+			return last_state + (long_click ? 110 : 10);
+		}
+	}
+}
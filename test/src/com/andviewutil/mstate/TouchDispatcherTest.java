@@ -0,0 +1,87 @@
+//	LICENSE:
+//	TouchDispatcherTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * Registration of views on a TouchDispatcher of a screen.
+ * @author GuillermoBlascoJimenez
+ */
+public class TouchDispatcherTest {
+
+	@Test
+	public void touchesReachRegisteredObject() {
+		TouchDispatcher dispatcher = new TouchDispatcher();
+		View view = new View();
+		MultiStateView object = new ToggleView(view, dispatcher);
+		assertSame(object, dispatcher.get(view));
+		assertTrue(view.dispatchTouchEvent(new MotionEvent(MotionEvent.ACTION_DOWN, 0)));
+		assertTrue(view.dispatchTouchEvent(new MotionEvent(MotionEvent.ACTION_UP, 1)));
+		assertEquals(1, object.getLastStableState());
+	}
+	@Test
+	public void unregisterReleasesView() {
+		TouchDispatcher dispatcher = new TouchDispatcher();
+		View view = new View();
+		MultiStateView object = new ToggleView(view, dispatcher);
+		assertSame(object, dispatcher.unregister(view));
+		assertNull(dispatcher.get(view));
+		assertEquals(0, dispatcher.size());
+		assertFalse(view.dispatchTouchEvent(new MotionEvent(MotionEvent.ACTION_DOWN, 0)));
+	}
+	@Test
+	public void unregisterAllReleasesEveryView() {
+		TouchDispatcher dispatcher = new TouchDispatcher();
+		View[] views = new View[100];
+		for(int i = 0; i < views.length; i++){
+			views[i] = new View();
+			new ToggleView(views[i], dispatcher);
+		}
+		assertEquals(views.length, dispatcher.size());
+		dispatcher.unregisterAll();
+		assertEquals(0, dispatcher.size());
+		for(int i = 0; i < views.length; i++){
+			assertNull(dispatcher.get(views[i]));
+			assertFalse(views[i].dispatchTouchEvent(new MotionEvent(MotionEvent.ACTION_DOWN, 0)));
+		}
+	}
+	
+	/*
+	 * Clicks toggle between states 0 and 1.
+	 */
+	private static class ToggleView extends MultiStateView {
+		ToggleView(View view, TouchDispatcher dispatcher){
+			super(view, 0, dispatcher);
+			setLongClickDelay(Integer.MAX_VALUE);
+		}
+		@Override
+		protected void actualizeOnState(View target, int state) {}
+		@Override
+		protected int actualizeState(View target, int last_state, boolean long_click) {
+			return 1 - last_state;
+		}
+	}
+}
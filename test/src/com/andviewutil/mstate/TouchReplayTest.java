@@ -0,0 +1,115 @@
+//	LICENSE:
+//	TouchReplayTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.andviewutil.timer.ManualScheduler;
+
+/**
+ * Replays of TouchTrace on the virtual time of the trace.
+ * @author GuillermoBlascoJimenez
+ */
+public class TouchReplayTest {
+
+	private static final int LONG_CLICK_DELAY = 200;
+	private static final int SHORT = 1;
+	private static final int LONG = 2;
+
+	private ManualScheduler own_scheduler;
+	private ClickObject object;
+
+	@Before
+	public void setUp() {
+		own_scheduler = new ManualScheduler();
+		object = new ClickObject();
+		object.setScheduler(own_scheduler);
+		object.setLongClickDelay(LONG_CLICK_DELAY);
+	}
+	@Test
+	public void replayReproducesLongClick() {
+		TouchTrace trace = new TouchTrace();
+		trace.record(TouchTrace.ACTION_DOWN, 5000);
+		trace.record(TouchTrace.ACTION_UP, 5000 + LONG_CLICK_DELAY + 50);
+		ReplayReport report = new TouchReplay(trace).setSpeed(0).replay(object);
+		assertEquals(2, report.getActions());
+		assertEquals(MultiStateObject.WHILE_CLICK_STATE, report.getState(0));
+		assertEquals(LONG, report.getState(1));
+		assertEquals(LONG, report.getFinalStableState());
+		assertEquals(1, object.long_clicks);
+		assertEquals(0, object.short_clicks);
+		//the long click deadline was run by the replay, not by the own one
+		assertEquals(0, own_scheduler.getPendingTasks());
+		assertSame(own_scheduler, object.getScheduler());
+	}
+	@Test
+	public void replayReproducesShortClick() {
+		TouchTrace trace = new TouchTrace();
+		trace.record(TouchTrace.ACTION_DOWN, 5000);
+		trace.record(TouchTrace.ACTION_UP, 5000 + LONG_CLICK_DELAY - 1);
+		ReplayReport report = new TouchReplay(trace).setSpeed(0).replay(object);
+		assertEquals(SHORT, report.getFinalStableState());
+		assertEquals(0, object.long_clicks);
+		assertEquals(1, object.short_clicks);
+	}
+	@Test
+	public void replaySpeedDoesNotChangeStates() {
+		TouchTrace trace = new TouchTrace();
+		long time = 0;
+		for(int i = 0; i < 10; i++){
+			trace.record(TouchTrace.ACTION_DOWN, time);
+			time += i % 2 == 0 ? LONG_CLICK_DELAY + 10 : 20;
+			trace.record(i % 3 == 2 ? TouchTrace.ACTION_CANCEL : TouchTrace.ACTION_UP, time);
+			time += 30;
+		}
+		ReplayReport fast = new TouchReplay(trace).setSpeed(0).replay(object);
+		ClickObject other = new ClickObject();
+		other.setLongClickDelay(LONG_CLICK_DELAY);
+		//whole trace in about 3 ms
+		ReplayReport timed = new TouchReplay(trace).setSpeed(1000).replay(other);
+		assertTrue(fast.hasSameStates(timed));
+		assertEquals(object.long_clicks, other.long_clicks);
+		assertEquals(object.short_clicks, other.short_clicks);
+	}
+
+	// PRIVATE CLASSES
+
+	/*short clicks go to SHORT, long clicks go to LONG*/
+	private static class ClickObject extends MultiStateObject<Object> {
+		private int short_clicks = 0;
+		private int long_clicks = 0;
+
+		ClickObject(){
+			super(null, 0);
+		}
+		@Override
+		protected void actualizeOnState(Object target, int state) {}
+		@Override
+		protected int actualizeState(Object target, int last_state, boolean long_click) {
+			if(long_click){
+				long_clicks++;
+				return LONG;
+			}
+			short_clicks++;
+			return SHORT;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+//	LICENSE:
+//	TouchTraceTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.mstate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Round trips of TouchTrace through writeTo(..) and readFrom(..).
+ * @author GuillermoBlascoJimenez
+ */
+public class TouchTraceTest {
+
+	/*magic, version and first time*/
+	private static final int HEADER_BYTES = 4 + 1 + 8;
+
+	@Test
+	public void emptyTraceRoundTrips() throws IOException {
+		TouchTrace trace = new TouchTrace();
+		byte[] bytes = write(trace);
+		assertEquals(HEADER_BYTES + 1, bytes.length);
+		assertEquals(0, read(bytes).size());
+	}
+
+	@Test
+	public void actionsAndTimesRoundTrip() throws IOException {
+		TouchTrace trace = new TouchTrace(1);
+		trace.record(TouchTrace.ACTION_DOWN, 1000);
+		trace.record(TouchTrace.ACTION_OUTSIDE, 1000);
+		trace.record(TouchTrace.ACTION_CANCEL, 1005);
+		trace.record(TouchTrace.ACTION_UP, 1600);
+		assertSame(trace, read(write(trace)));
+	}
+
+	@Test
+	public void negativeTimesRoundTrip() throws IOException {
+		TouchTrace trace = new TouchTrace();
+		trace.record(TouchTrace.ACTION_DOWN, -5000);
+		trace.record(TouchTrace.ACTION_UP, -4990);
+		trace.record(TouchTrace.ACTION_DOWN, 3);
+		assertSame(trace, read(write(trace)));
+	}
+
+	@Test
+	public void earlierTimeIsReadAsTheTimeOfThePreviousAction() throws IOException {
+		TouchTrace trace = new TouchTrace();
+		trace.record(TouchTrace.ACTION_DOWN, 500);
+		trace.record(TouchTrace.ACTION_UP, 200);
+		trace.record(TouchTrace.ACTION_DOWN, 100);
+		TouchTrace read = read(write(trace));
+		assertSame(trace, read);
+		assertEquals(500, read.getTime(1));
+		assertEquals(500, read.getTime(2));
+	}
+
+	@Test
+	public void deltaVarintsTakeSevenBitsPerByte() throws IOException {
+		//delta << 2 | action: 31 is the greatest delta fitting one byte
+		assertEquals(1, entryBytes(31));
+		assertEquals(2, entryBytes(32));
+		assertEquals(2, entryBytes((1 << 12) - 1));
+		assertEquals(3, entryBytes(1 << 12));
+		assertEquals(7, entryBytes(1L << 40));
+		assertEquals(9, entryBytes((1L << 61) - 1));
+	}
+
+	@Test
+	public void multiByteDeltasRoundTrip() throws IOException {
+		long[] deltas = {0, 31, 32, 127, 128, 1000, 1 << 12, 1 << 20, 1L << 40, (1L << 61) - 1};
+		TouchTrace trace = new TouchTrace();
+		long time = Long.MIN_VALUE / 2;
+		for(int i = 0; i < deltas.length; i++){
+			time += deltas[i];
+			trace.record(i % 4, time);
+		}
+		assertSame(trace, read(write(trace)));
+	}
+
+	@Test
+	public void multiByteCountRoundTrips() throws IOException {
+		TouchTrace trace = new TouchTrace();
+		for(int i = 0; i < 300; i++)
+			trace.record(i % 2 == 0 ? TouchTrace.ACTION_DOWN : TouchTrace.ACTION_UP, i * 40L);
+		byte[] bytes = write(trace);
+		//two bytes for the count, delta 40 takes two bytes
+		assertEquals(HEADER_BYTES + 2 + 1 + 299 * 2, bytes.length);
+		assertSame(trace, read(bytes));
+	}
+
+	@Test
+	public void tooLongDeltaIsRejected() {
+		TouchTrace trace = new TouchTrace();
+		trace.record(TouchTrace.ACTION_DOWN, 0);
+		trace.record(TouchTrace.ACTION_UP, 1L << 61);
+		try {
+			write(trace);
+			fail("Delta of 2^61 written");
+		} catch(IOException e) {
+			//expected
+		}
+		trace.clear();
+		trace.record(TouchTrace.ACTION_DOWN, Long.MIN_VALUE);
+		trace.record(TouchTrace.ACTION_UP, Long.MAX_VALUE);
+		try {
+			write(trace);
+			fail("Overflowed delta written");
+		} catch(IOException e) {
+			//expected
+		}
+	}
+
+	@Test
+	public void badMagicIsRejected() {
+		byte[] bytes = new byte[HEADER_BYTES + 1];
+		try {
+			read(bytes);
+			fail("Zeros read as a trace");
+		} catch(IOException e) {
+			//expected
+		}
+	}
+
+	@Test(expected = EOFException.class)
+	public void truncatedTraceIsRejected() throws IOException {
+		TouchTrace trace = new TouchTrace();
+		trace.record(TouchTrace.ACTION_DOWN, 0);
+		trace.record(TouchTrace.ACTION_UP, 1L << 40);
+		byte[] bytes = write(trace);
+		byte[] truncated = new byte[bytes.length - 1];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		read(truncated);
+	}
+
+	// PRIVATE METHODS
+
+	private static byte[] write(TouchTrace trace) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		trace.writeTo(out);
+		return out.toByteArray();
+	}
+	private static TouchTrace read(byte[] bytes) throws IOException {
+		ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+		TouchTrace trace = TouchTrace.readFrom(in);
+		assertEquals("Bytes left after the trace", 0, in.available());
+		return trace;
+	}
+	/*bytes of the second entry of a two action trace*/
+	private static int entryBytes(long delta) throws IOException {
+		TouchTrace trace = new TouchTrace();
+		trace.record(TouchTrace.ACTION_DOWN, 0);
+		trace.record(TouchTrace.ACTION_OUTSIDE, delta);
+		assertSame(trace, read(write(trace)));
+		return write(trace).length - HEADER_BYTES - 1 - 1;
+	}
+	private static void assertSame(TouchTrace expected, TouchTrace actual) {
+		assertEquals(expected.size(), actual.size());
+		for(int i = 0; i < expected.size(); i++){
+			assertEquals("Action " + i, expected.getAction(i), actual.getAction(i));
+			assertEquals("Time " + i, expected.getTime(i), actual.getTime(i));
+		}
+	}
+}
@@ -0,0 +1,158 @@
+//	LICENSE:
+//	AsyncListenerTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+/**
+ * Queue policies of an AsyncListener and recovery from a failing executor.
+ * @author GuillermoBlascoJimenez
+ */
+public class AsyncListenerTest {
+
+	@Test
+	public void dropOldestKeepsNewestEvents() {
+		ManualExecutor executor = new ManualExecutor();
+		RecordingListener listener = new RecordingListener();
+		AsyncListener async = new AsyncListener(listener, executor, 2, AsyncListener.QueuePolicy.DROP_OLDEST);
+		for(int i = 1; i <= 4; i++)
+			async.onActualize(i);
+		executor.runAll();
+		assertEquals("A3 A4 ", listener.events.toString());
+		assertEquals(2, async.getDroppedEvents());
+	}
+	@Test
+	public void dropNewestKeepsQueuedEvents() {
+		ManualExecutor executor = new ManualExecutor();
+		RecordingListener listener = new RecordingListener();
+		AsyncListener async = new AsyncListener(listener, executor, 2, AsyncListener.QueuePolicy.DROP_NEWEST);
+		for(int i = 1; i <= 4; i++)
+			async.onActualize(i);
+		executor.runAll();
+		assertEquals("A1 A2 ", listener.events.toString());
+		assertEquals(2, async.getDroppedEvents());
+	}
+	@Test
+	public void coalesceLatestReplacesNewestQueued() {
+		ManualExecutor executor = new ManualExecutor();
+		RecordingListener listener = new RecordingListener();
+		AsyncListener async = new AsyncListener(listener, executor, 2, AsyncListener.QueuePolicy.COALESCE_LATEST);
+		for(int i = 1; i <= 4; i++)
+			async.onActualize(i);
+		executor.runAll();
+		assertEquals("A1 A4 ", listener.events.toString());
+		assertEquals(2, async.getDroppedEvents());
+	}
+	@Test
+	public void blockWaitsForRoom() throws InterruptedException {
+		ManualExecutor executor = new ManualExecutor();
+		RecordingListener listener = new RecordingListener();
+		final AsyncListener async = new AsyncListener(listener, executor, 2, AsyncListener.QueuePolicy.BLOCK);
+		Thread picker = new Thread(){
+			public void run(){
+				for(int i = 1; i <= 3; i++)
+					async.onActualize(i);
+			}
+		};
+		picker.start();
+		//third event waits until the queue is drained
+		while(picker.getState() != Thread.State.WAITING)
+			Thread.sleep(1);
+		assertEquals(2, async.getQueueDepth());
+		executor.runAll();
+		picker.join();
+		executor.runAll();
+		assertEquals("A1 A2 A3 ", listener.events.toString());
+		assertEquals(0, async.getDroppedEvents());
+	}
+	@Test
+	public void rejectedDrainIsPostedAgain() {
+		ManualExecutor executor = new ManualExecutor();
+		RecordingListener listener = new RecordingListener();
+		AsyncListener async = new AsyncListener(listener, executor, 4, AsyncListener.QueuePolicy.DROP_OLDEST);
+		executor.rejecting = true;
+		try{
+			async.onActualize(1);
+			fail("Rejection not thrown");
+		}catch(RejectedExecutionException e){
+			//event stays queued
+		}
+		executor.rejecting = false;
+		async.onActualize(2);
+		executor.runAll();
+		assertEquals("A1 A2 ", listener.events.toString());
+	}
+	@Test
+	public void blockDoesNotWaitAfterRejectedDrain() {
+		ManualExecutor executor = new ManualExecutor();
+		RecordingListener listener = new RecordingListener();
+		AsyncListener async = new AsyncListener(listener, executor, 1, AsyncListener.QueuePolicy.BLOCK);
+		executor.rejecting = true;
+		try{
+			async.onActualize(1);
+			fail("Rejection not thrown");
+		}catch(RejectedExecutionException e){
+			//queue is full and nothing drains it
+		}
+		executor.rejecting = false;
+		async.onActualize(2);
+		executor.runAll();
+		assertEquals("A2 ", listener.events.toString());
+		assertEquals(1, async.getDroppedEvents());
+	}
+	
+	/*
+	 * Holds tasks until they are run by the test, rejects them on demand.
+	 */
+	private static class ManualExecutor implements Executor {
+		private final ArrayList<Runnable> tasks = new ArrayList<Runnable>();
+		private volatile boolean rejecting = false;
+		
+		public synchronized void execute(Runnable command) {
+			if(rejecting)
+				throw new RejectedExecutionException("Rejected by test");
+			tasks.add(command);
+		}
+		void runAll(){
+			while(true){
+				Runnable task;
+				synchronized(this){
+					if(tasks.isEmpty())
+						return;
+					task = tasks.remove(0);
+				}
+				task.run();
+			}
+		}
+	}
+	private static class RecordingListener implements OnPickerEventListener {
+		private final StringBuffer events = new StringBuffer();
+		
+		public void onElementPicked(int index, Cause cause) {
+			events.append("P").append(index).append(cause).append(' ');
+		}
+		public void onActualize(int index) {
+			events.append("A").append(index).append(' ');
+		}
+	}
+}
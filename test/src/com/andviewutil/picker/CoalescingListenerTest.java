@@ -0,0 +1,126 @@
+//	LICENSE:
+//	CoalescingListenerTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.andviewutil.timer.ManualScheduler;
+
+/**
+ * Throttled and debounced delivery of picker events on a manual scheduler.
+ * @author GuillermoBlascoJimenez
+ */
+public class CoalescingListenerTest {
+
+	private ManualScheduler scheduler;
+	private PickerCore picker;
+	private RecordingListener listener;
+
+	@Before
+	public void setUp() {
+		scheduler = new ManualScheduler();
+		picker = new PickerCore(new HeadlessPickerHost(scheduler)){
+			private static final long serialVersionUID = 13L;
+			{
+				setMax(99);
+				setMin(0);
+			}
+			@Override
+			protected void actualize() {}
+		};
+		listener = new RecordingListener();
+	}
+	@Test
+	public void throttleDeliversFirstAndThenOncePerInterval() {
+		picker.setOnPickerEventListener(listener, DeliveryPolicy.throttle(100));
+		//first event is delivered at once, before index changes
+		picker.onNext();
+		assertEquals("P0ON_NEXT ", listener.take());
+		scheduler.advanceBy(30);
+		picker.onNext();
+		scheduler.advanceBy(30);
+		picker.onNext();
+		assertEquals("", listener.take());
+		//rest of interval events are delivered at its end with current index
+		scheduler.advanceBy(40);
+		assertEquals("P3ON_NEXT A3 ", listener.take());
+		//interval without events ends throttling
+		scheduler.advanceBy(100);
+		assertEquals("", listener.take());
+		assertEquals(0, scheduler.getPendingTasks());
+		picker.onPrev();
+		assertEquals("P3ON_PREV ", listener.take());
+		scheduler.advanceBy(100);
+		assertEquals("A2 ", listener.take());
+	}
+	@Test
+	public void debounceDeliversOnceAfterQuietInterval() {
+		picker.setOnPickerEventListener(listener, DeliveryPolicy.debounce(100));
+		for(int i = 0; i < 5; i++){
+			picker.onNext();
+			//one timer is kept for the whole burst
+			assertEquals(1, scheduler.getPendingTasks());
+			scheduler.advanceBy(50);
+		}
+		assertEquals("", listener.take());
+		//last event at 200, delivered at 300
+		scheduler.advanceTo(299);
+		assertEquals("", listener.take());
+		scheduler.advanceTo(300);
+		assertEquals("P5ON_NEXT A5 ", listener.take());
+		assertEquals(0, scheduler.getPendingTasks());
+	}
+	@Test
+	public void coalescedCauseIsMostFrequent() {
+		picker.setOnPickerEventListener(listener, DeliveryPolicy.debounce(100));
+		picker.onNext();
+		picker.onNext();
+		picker.onPrev();
+		scheduler.advanceBy(100);
+		assertEquals("P1ON_NEXT A1 ", listener.take());
+	}
+	@Test
+	public void coalescedCauseIsLatestOnTie() {
+		picker.setOnPickerEventListener(listener, DeliveryPolicy.debounce(100));
+		picker.onPrev();
+		picker.onNext();
+		scheduler.advanceBy(100);
+		assertEquals("P0ON_NEXT A0 ", listener.take());
+		picker.onNext();
+		picker.onPrev();
+		scheduler.advanceBy(100);
+		assertEquals("P0ON_PREV A0 ", listener.take());
+	}
+	
+	private static class RecordingListener implements OnPickerEventListener {
+		private final StringBuffer events = new StringBuffer();
+		
+		public void onElementPicked(int index, Cause cause) {
+			events.append("P").append(index).append(cause).append(' ');
+		}
+		public void onActualize(int index) {
+			events.append("A").append(index).append(' ');
+		}
+		String take(){
+			String ret = events.toString();
+			events.setLength(0);
+			return ret;
+		}
+	}
+}
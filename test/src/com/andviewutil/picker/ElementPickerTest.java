@@ -0,0 +1,116 @@
+//	LICENSE:
+//	ElementPickerTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * The source of an ElementPicker follows every index change.
+ * @author GuillermoBlascoJimenez
+ */
+public class ElementPickerTest {
+
+	@Test
+	public void sourceFollowsSteps() {
+		RecordingSource source = new RecordingSource(1000);
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), source);
+		picker.onNext();
+		picker.onNext();
+		picker.step(50);
+		assertEquals(52, picker.getIndex());
+		assertEquals(52, source.current);
+		picker.onPrev();
+		assertEquals(51, source.current);
+	}
+	@Test
+	public void sourceFollowsWrap() {
+		RecordingSource source = new RecordingSource(10);
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), source);
+		picker.onPrev();
+		assertEquals(9, source.current);
+		picker.setIndex(4);
+		assertEquals(4, source.current);
+	}
+	@Test
+	public void newSourceIsToldCurrentIndex() {
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), new RecordingSource(10));
+		picker.setIndex(3);
+		RecordingSource source = new RecordingSource(10);
+		picker.setElementSource(source);
+		assertEquals(3, source.current);
+	}
+	@Test
+	public void singleElementSource() {
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), new RecordingSource(1));
+		assertEquals(0, picker.getMax());
+		assertEquals("0", picker.getCurrentElement());
+		picker.onNext();
+		assertEquals(0, picker.getIndex());
+		assertEquals("0", picker.getCurrentElement());
+	}
+	@Test
+	public void singleElementSourceReplacesLongerOne() {
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), new RecordingSource(10));
+		picker.setIndex(7);
+		RecordingSource source = new RecordingSource(1);
+		picker.setElementSource(source);
+		assertEquals(0, picker.getMax());
+		assertEquals(0, picker.getIndex());
+		assertEquals(0, source.current);
+		assertEquals("0", picker.getCurrentElement());
+		picker.onPrev();
+		assertEquals(0, picker.getIndex());
+	}
+	@Test
+	public void emptySourceIsRejected() {
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), new RecordingSource(10));
+		picker.setIndex(7);
+		try {
+			picker.setElementSource(new RecordingSource(0));
+			fail("Empty source set");
+		} catch(IllegalArgumentException e) {
+			//expected
+		}
+		assertEquals(9, picker.getMax());
+		assertEquals(7, picker.getIndex());
+	}
+	
+	private static class RecordingSource extends PagedElementSource {
+		int current = -1;
+		
+		RecordingSource(int size){
+			super(size, 10, 1);
+		}
+		@Override
+		public void setCurrentIndex(int index) {
+			current = index;
+			super.setCurrentIndex(index);
+		}
+		@Override
+		protected Object[] loadPage(int offset, int count) {
+			Object[] page = new Object[count];
+			for(int i = 0; i < count; i++)
+				page[i] = Integer.toString(offset + i);
+			return page;
+		}
+	}
+}
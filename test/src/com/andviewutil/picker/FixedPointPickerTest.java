@@ -0,0 +1,126 @@
+//	LICENSE:
+//	FixedPointPickerTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import android.view.View;
+import android.widget.TextView;
+
+import com.andviewutil.reactive.Subscriber;
+import com.andviewutil.reactive.Subscription;
+
+/**
+ * Ranges and scale of a FixedPointPicker.
+ * @author GuillermoBlascoJimenez
+ */
+public class FixedPointPickerTest {
+
+	@Test
+	public void wideRangeIsAdmitted() {
+		FixedPointPicker picker = new FixedPointPicker(new View(), new View(), new TextView());
+		long min = Long.MIN_VALUE / 2, max = Long.MAX_VALUE / 2 + 1;
+		picker.setRange(min, max, 1);
+		assertEquals(max, picker.getMaxValue());
+		picker.setValue(max);
+		assertEquals(max, picker.getValue());
+		picker.setValue(Long.MAX_VALUE);
+		assertEquals(max, picker.getValue());
+		picker.setValue(min + 7);
+		assertEquals(7, picker.getIndex());
+		picker.setValue(max);
+		picker.setCyclic(false);
+		picker.step(1);
+		assertEquals(max, picker.getValue());
+	}
+	@Test
+	public void widestRange() {
+		FixedPointPicker picker = new FixedPointPicker(new View(), new View(), new TextView());
+		picker.setRange(Long.MIN_VALUE, Long.MAX_VALUE, 1);
+		assertEquals(Long.MAX_VALUE, picker.getMaxValue());
+		assertEquals(Integer.MAX_VALUE, picker.getMax());
+		picker.setValue(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, picker.getValue());
+		//cyclic by default
+		picker.step(1);
+		assertEquals(Long.MIN_VALUE, picker.getValue());
+		picker.step(-3);
+		assertEquals(Long.MAX_VALUE - 2, picker.getValue());
+		picker.setValue(-1);
+		assertEquals(-1, picker.getValue());
+	}
+	@Test
+	public void widestRangeByThree() {
+		FixedPointPicker picker = new FixedPointPicker(new View(), new View(), new TextView());
+		picker.setRange(Long.MIN_VALUE, Long.MAX_VALUE, 3);
+		//2^64 - 1 is a multiple of 3
+		assertEquals(Long.MAX_VALUE, picker.getMaxValue());
+		picker.setValue(Long.MAX_VALUE - 1);
+		assertEquals(Long.MAX_VALUE - 3, picker.getValue());
+	}
+	@Test
+	public void cyclicCheckWrapsSmallRange() {
+		FixedPointPicker picker = new FixedPointPicker(new View(), new View(), new TextView());
+		picker.setRange(0, 40, 10);
+		picker.setIndex(7);
+		assertEquals(2, picker.getIndex());
+		picker.setIndex(-1);
+		assertEquals(4, picker.getIndex());
+		picker.step(-12);
+		assertEquals(2, picker.getIndex());
+	}
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyRangeIsRejected() {
+		FixedPointPicker picker = new FixedPointPicker(new View(), new View(), new TextView());
+		picker.setRange(5, 5, 1);
+	}
+	@Test
+	public void setScaleActualizesView() {
+		TextView text = new TextView();
+		FixedPointPicker picker = new FixedPointPicker(new View(), new View(), text);
+		picker.setRange(0, 1000, 5);
+		picker.setValue(105);
+		assertEquals("105", text.getText().toString());
+		picker.setScale(2);
+		assertEquals("1.05", text.getText().toString());
+	}
+	@Test
+	public void setRangePublishesMovedIndex() {
+		TextView text = new TextView();
+		FixedPointPicker picker = new FixedPointPicker(new View(), new View(), text);
+		final List<Integer> indices = new ArrayList<Integer>();
+		picker.getIndexPublisher().subscribe(new Subscriber<PickerEvent>(){
+			public void onSubscribe(Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+			public void onNext(PickerEvent item) {
+				indices.add(item.getIndex());
+			}
+			public void onError(Throwable throwable) {}
+			public void onComplete() {}
+		});
+		picker.setValue(50);
+		picker.setRange(0, 20, 1);
+		assertEquals(20, picker.getIndex());
+		assertEquals(20, indices.get(indices.size() - 1).intValue());
+		assertEquals("20", text.getText().toString());
+	}
+}
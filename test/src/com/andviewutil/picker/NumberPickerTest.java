@@ -0,0 +1,76 @@
+//	LICENSE:
+//	NumberPickerTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * Keyboard edits of a NumberPicker.
+ * @author GuillermoBlascoJimenez
+ */
+public class NumberPickerTest {
+
+	@Test
+	public void validEditFiresPickedAndActualize() {
+		TextView text = new TextView();
+		NumberPicker picker = new NumberPicker(new View(), new View(), text);
+		picker.setBounds(0, 999);
+		RecordingListener listener = new RecordingListener();
+		picker.setOnPickerEventListener(listener);
+		text.setText("123");
+		picker.onTextEdit((CharSequence)"123");
+		assertEquals("P0ON_EDIT_WELL A123 ", listener.events.toString());
+		//text is not rewritten
+		assertEquals("123", text.getText());
+	}
+	@Test
+	public void wrongEditIsCorrected() {
+		TextView text = new TextView();
+		NumberPicker picker = new NumberPicker(new View(), new View(), text);
+		picker.setBounds(0, 999);
+		picker.setIndex(7);
+		RecordingListener listener = new RecordingListener();
+		picker.setOnPickerEventListener(listener);
+		picker.onTextEdit((CharSequence)"12a");
+		assertEquals("P7ON_EDIT_WRONG A7 ", listener.events.toString());
+		assertEquals("007", text.getText().toString());
+	}
+	@Test
+	public void incompleteEditDoesNothing() {
+		NumberPicker picker = new NumberPicker(new View(), new View(), new TextView());
+		picker.setBounds(100, 999);
+		RecordingListener listener = new RecordingListener();
+		picker.setOnPickerEventListener(listener);
+		picker.onTextEdit((CharSequence)"1");
+		assertEquals("", listener.events.toString());
+	}
+	
+	static class RecordingListener implements OnPickerEventListener {
+		final StringBuilder events = new StringBuilder();
+		
+		public void onElementPicked(int index, Cause cause) {
+			events.append('P').append(index).append(cause).append(' ');
+		}
+		public void onActualize(int index) {
+			events.append('A').append(index).append(' ');
+		}
+	}
+}
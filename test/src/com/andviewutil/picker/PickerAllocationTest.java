@@ -0,0 +1,101 @@
+//	LICENSE:
+//	PickerAllocationTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Clicks of a picker with listeners do not allocate once the picker is warm.
+ * Allocated bytes are read from the thread allocation counter of the JVM.
+ * @author GuillermoBlascoJimenez
+ */
+public class PickerAllocationTest {
+
+	private static final int WARM_UP = 200000;
+	private static final int CLICKS = 100000;
+	/*bytes admitted on the whole measure, for the counter reads themselves*/
+	private static final long SLACK = 1024;
+	
+	private com.sun.management.ThreadMXBean threads;
+	private PickerCore picker;
+	private CountingListener listener;
+
+	@Before
+	public void setUp() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		threads = (com.sun.management.ThreadMXBean)bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+		picker = new PickerCore(new HeadlessPickerHost()){
+			private static final long serialVersionUID = 13L;
+			{
+				setMax(99);
+				setMin(0);
+			}
+			@Override
+			protected void actualize() {}
+		};
+		picker.setCyclic(true);
+		listener = new CountingListener();
+		picker.setOnPickerEventListener(listener);
+		picker.setOnPickerEventListener(new CountingListener());
+	}
+	@Test
+	public void onNextDoesNotAllocate() {
+		for(int i = 0; i < WARM_UP; i++)
+			picker.onNext();
+		long allocated = allocatedBytes();
+		for(int i = 0; i < CLICKS; i++)
+			picker.onNext();
+		allocated = allocatedBytes() - allocated;
+		assertTrue(allocated + " bytes allocated by " + CLICKS + " clicks", allocated < SLACK);
+		assertTrue(listener.actualized >= WARM_UP + CLICKS);
+	}
+	@Test
+	public void onPrevDoesNotAllocate() {
+		for(int i = 0; i < WARM_UP; i++)
+			picker.onPrev();
+		long allocated = allocatedBytes();
+		for(int i = 0; i < CLICKS; i++)
+			picker.onPrev();
+		allocated = allocatedBytes() - allocated;
+		assertTrue(allocated + " bytes allocated by " + CLICKS + " clicks", allocated < SLACK);
+		assertTrue(listener.actualized >= WARM_UP + CLICKS);
+	}
+	
+	private long allocatedBytes(){
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+	
+	private static class CountingListener implements OnPickerEventListener {
+		private int picked = 0;
+		private int actualized = 0;
+
+		public void onElementPicked(int index, Cause cause) {
+			picked++;
+		}
+		public void onActualize(int index) {
+			actualized++;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+//	LICENSE:
+//	PickerCoreIndexTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Wrapping and clamping of the index when it is stepped.
+ * @author GuillermoBlascoJimenez
+ */
+public class PickerCoreIndexTest {
+
+	private CheckingPicker picker;
+
+	@Before
+	public void setUp() {
+		//indices 5 to 9
+		picker = new CheckingPicker(5, 9);
+	}
+	@Test
+	public void cyclicStepsWrapFromMin() {
+		picker.setCyclic(true);
+		picker.setIndex(5);
+		picker.step(7);
+		assertEquals(7, picker.getIndex());
+		picker.step(-13);
+		assertEquals(9, picker.getIndex());
+		picker.onNext();
+		assertEquals(5, picker.getIndex());
+		picker.onPrev();
+		assertEquals(9, picker.getIndex());
+	}
+	@Test
+	public void cyclicStepsWrapOnWholeIntRange() {
+		picker.setCyclic(true);
+		picker.setIndex(9);
+		picker.step(Integer.MAX_VALUE);
+		//2^31 - 1 steps over 5 indices, 2^31 - 1 = 2 mod 5
+		assertEquals(6, picker.getIndex());
+		picker.step(Integer.MIN_VALUE);
+		//-2^31 = 2 mod 5
+		assertEquals(8, picker.getIndex());
+	}
+	@Test
+	public void clampedStepsStopAtBounds() {
+		picker.setCyclic(false);
+		picker.setIndex(7);
+		picker.step(100);
+		assertEquals(9, picker.getIndex());
+		picker.onNext();
+		assertEquals(9, picker.getIndex());
+		picker.step(Integer.MIN_VALUE);
+		assertEquals(5, picker.getIndex());
+		picker.onPrev();
+		assertEquals(5, picker.getIndex());
+	}
+	@Test
+	public void clicksAreChecked() {
+		picker.setIndex(5);
+		picker.checked = 0;
+		picker.onNext();
+		picker.onPrev();
+		picker.step(3);
+		assertEquals(3, picker.checked);
+		assertEquals(8, picker.last_checked);
+	}
+	@Test
+	public void stepReportsChange() {
+		picker.setCyclic(false);
+		picker.setIndex(9);
+		assertFalse(picker.stepIndex(1));
+		assertTrue(picker.stepIndex(-1));
+	}
+	
+	/*
+	 * Counts the checks of the index.
+	 */
+	private static class CheckingPicker extends PickerCore {
+		private static final long serialVersionUID = 13L;
+		private int checked = 0;
+		private int last_checked;
+		
+		CheckingPicker(int min, int max){
+			super(new HeadlessPickerHost());
+			setMax(max);
+			setMin(min);
+		}
+		@Override
+		protected boolean check(int new_value) {
+			checked++;
+			last_checked = new_value;
+			return super.check(new_value);
+		}
+		@Override
+		protected void actualize() {}
+	}
+}
@@ -0,0 +1,108 @@
+//	LICENSE:
+//	PickerCoreRepeatTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.andviewutil.timer.ManualScheduler;
+
+/**
+ * Repeats of long clicks on a headless picker.
+ * @author GuillermoBlascoJimenez
+ */
+public class PickerCoreRepeatTest {
+
+	private ManualScheduler scheduler;
+	private HeadlessPickerHost host;
+	private CountingPicker picker;
+
+	@Before
+	public void setUp() {
+		scheduler = new ManualScheduler();
+		host = new HeadlessPickerHost(scheduler);
+		picker = new CountingPicker(host);
+		picker.setRepeatPolicy(new RepeatPolicy().setInterval(100));
+	}
+	@Test
+	public void restartWithinIntervalKeepsOneChain() {
+		host.setPressed(PickerHost.UP_BUTTON, true);
+		picker.onLongClickNextStarted();
+		scheduler.advanceBy(50);
+		assertEquals(1, picker.getIndex());
+		//release and press again before next repeat is due
+		host.setPressed(PickerHost.UP_BUTTON, false);
+		host.setPressed(PickerHost.UP_BUTTON, true);
+		picker.onLongClickNextStarted();
+		scheduler.runDue();
+		assertEquals(2, picker.getIndex());
+		assertEquals(1, scheduler.getPendingTasks());
+		scheduler.advanceBy(1000);
+		//one step now and one every 100ms, old chain does not step
+		assertEquals(12, picker.getIndex());
+		assertEquals(1, scheduler.getPendingTasks());
+	}
+	@Test
+	public void releaseEndsChainOnNextRepeat() {
+		host.setPressed(PickerHost.UP_BUTTON, true);
+		picker.onLongClickNextStarted();
+		scheduler.advanceBy(150);
+		assertEquals(2, picker.getIndex());
+		host.setPressed(PickerHost.UP_BUTTON, false);
+		scheduler.advanceBy(1000);
+		assertEquals(2, picker.getIndex());
+		assertEquals(0, scheduler.getPendingTasks());
+	}
+	@Test
+	public void stopLongClickCancelsPendingRepeat() {
+		host.setPressed(PickerHost.UP_BUTTON, true);
+		picker.onLongClickNextStarted();
+		scheduler.runDue();
+		picker.stopLongClick(PickerHost.UP_BUTTON);
+		assertEquals(0, scheduler.getPendingTasks());
+		scheduler.advanceBy(1000);
+		assertEquals(1, picker.getIndex());
+	}
+	@Test
+	public void buttonsRepeatIndependently() {
+		host.setPressed(PickerHost.UP_BUTTON, true);
+		host.setPressed(PickerHost.DOWN_BUTTON, true);
+		long start = scheduler.uptimeMillis();
+		picker.onLongClickNextStarted();
+		scheduler.advanceBy(50);
+		picker.onLongClickPrevStarted();
+		assertEquals(2, scheduler.getPendingTasks());
+		scheduler.runDue();
+		picker.stopLongClick(PickerHost.DOWN_BUTTON);
+		assertEquals(1, scheduler.getPendingTasks());
+		//up chain keeps its own rate from its start
+		assertEquals(start + 100, scheduler.getNextTaskTime());
+	}
+
+	private static class CountingPicker extends PickerCore {
+		private static final long serialVersionUID = 13L;
+
+		CountingPicker(PickerHost host){
+			super(host);
+			setMax(1000);
+			setMin(0);
+		}
+		@Override
+		protected void actualize() {}
+	}
+}
@@ -0,0 +1,93 @@
+//	LICENSE:
+//	PickerListenersTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.andviewutil.picker.OnPickerEventListener.Cause;
+import com.andviewutil.timer.ManualScheduler;
+
+/**
+ * Registration and removal of picker listeners and their wrappers.
+ * @author GuillermoBlascoJimenez
+ */
+public class PickerListenersTest {
+
+	private static final Executor INLINE = new Executor(){
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+	private ManualScheduler scheduler;
+	private PickerCore picker;
+	private CountingListener listener;
+
+	@Before
+	public void setUp() {
+		scheduler = new ManualScheduler();
+		picker = new PickerCore(new HeadlessPickerHost(scheduler)){
+			private static final long serialVersionUID = 13L;
+			{
+				setMax(100);
+				setMin(0);
+			}
+			@Override
+			protected void actualize() {}
+		};
+		listener = new CountingListener();
+	}
+	@Test
+	public void removingAsyncListenerStopsDelivery() {
+		AsyncListener async = new AsyncListener(listener, INLINE, 4, AsyncListener.QueuePolicy.DROP_OLDEST);
+		picker.setOnPickerEventListener(async);
+		picker.step(1);
+		assertEquals(1, listener.actualized);
+		picker.removeListener(async);
+		picker.step(1);
+		assertEquals(1, listener.actualized);
+	}
+	@Test
+	public void removingWrappedListenerStopsDelivery() {
+		AsyncListener async = new AsyncListener(listener, INLINE, 4, AsyncListener.QueuePolicy.DROP_OLDEST);
+		picker.setOnPickerEventListener(async, DeliveryPolicy.throttle(10, scheduler));
+		picker.removeListener(listener);
+		picker.step(1);
+		scheduler.advanceBy(100);
+		assertEquals(0, listener.actualized);
+	}
+	@Test
+	public void addingWrapperTwiceRegistersOnce() {
+		AsyncListener async = new AsyncListener(listener, INLINE, 4, AsyncListener.QueuePolicy.DROP_OLDEST);
+		picker.setOnPickerEventListener(async);
+		picker.setOnPickerEventListener(async);
+		picker.step(1);
+		assertEquals(1, listener.actualized);
+	}
+
+	private static class CountingListener implements OnPickerEventListener {
+		private int actualized = 0;
+
+		public void onElementPicked(int index, Cause cause) {}
+		public void onActualize(int index) {
+			actualized++;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+//	LICENSE:
+//	PickerTextTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * Edits of a PickerText are resolved by an index or by the source, and
+ * must not load the elements of a paged source.
+ * @author GuillermoBlascoJimenez
+ */
+public class PickerTextTest {
+
+	@Test
+	public void editOnArraySourceIsResolvedByIndex() {
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), 
+				new Object[]{"alpha", "beta", "gamma"});
+		picker.onTextEdit("gamma");
+		assertEquals(2, picker.getIndex());
+	}
+	@Test
+	public void givenIndexIsUsedOnEdits() {
+		Object[] elements = new Object[]{"alpha", "beta", "gamma"};
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), elements);
+		//index built as if it were out of UI thread
+		TextIndex index = new TextIndex(elements, false);
+		picker.setTextIndex(index);
+		assertSame(index, picker.getTextIndex());
+		picker.onTextEdit("beta");
+		assertEquals(1, picker.getIndex());
+	}
+	@Test(expected = IllegalArgumentException.class)
+	public void indexComparingCaseDifferentlyIsRejected() {
+		Object[] elements = new Object[]{"alpha", "beta", "gamma"};
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), elements);
+		picker.setTextIndex(new TextIndex(elements, true));
+	}
+	@Test
+	public void editOnPagedSourceDoesNotLoadPages() {
+		CountingSource source = new CountingSource(1000000);
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), source);
+		int loaded = source.loaded;
+		picker.onTextEdit("123456");
+		//wrong edit restores the text, only the page of the index is loaded
+		assertTrue(source.loaded - loaded <= 1);
+		assertEquals(0, picker.getIndex());
+	}
+	@Test
+	public void editOnLookupSourceIsResolvedBySource() {
+		LookupSource source = new LookupSource(1000000);
+		PickerText picker = new PickerText(new View(), new View(), new TextView(), source);
+		int loaded = source.loaded;
+		picker.onTextEdit("123456");
+		assertEquals(123456, picker.getIndex());
+		//only the pages of the new index are loaded to display it
+		assertEquals(loaded, source.loaded);
+	}
+	
+	private static class CountingSource extends PagedElementSource {
+		int loaded = 0;
+		
+		CountingSource(int size){
+			super(size, 100, 1);
+		}
+		@Override
+		protected Object[] loadPage(int offset, int count) {
+			loaded++;
+			Object[] page = new Object[count];
+			for(int i = 0; i < count; i++)
+				page[i] = Integer.toString(offset + i);
+			return page;
+		}
+	}
+	/*
+	 * Element i is displayed as i, so lookups are computed.
+	 */
+	private static class LookupSource extends CountingSource implements TextLookup {
+		LookupSource(int size){
+			super(size);
+		}
+		public int indexOf(String text) {
+			try{
+				int i = Integer.parseInt(text);
+				return i >= 0 && i < size() && Integer.toString(i).equals(text) ? i : -1;
+			}catch(NumberFormatException e){
+				return -1;
+			}
+		}
+		public boolean hasPrefix(String prefix) {
+			return prefix.length() == 0 || indexOf(prefix) >= 0;
+		}
+		public int firstWithPrefix(String prefix) {
+			return indexOf(prefix);
+		}
+		public int countWithPrefix(String prefix) {
+			return hasPrefix(prefix) ? 1 : 0;
+		}
+	}
+}
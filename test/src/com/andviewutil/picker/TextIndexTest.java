@@ -0,0 +1,91 @@
+//	LICENSE:
+//	TextIndexTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.picker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Exact, prefix and count lookups of a TextIndex.
+ * @author GuillermoBlascoJimenez
+ */
+public class TextIndexTest {
+
+	private static final String[] FRUITS = {"pear", "apple", "Apricot", "peach", "apple", "plum", "Pear"};
+
+	@Test
+	public void exactLookupFindsFirstEqualElement() {
+		TextIndex index = new TextIndex(FRUITS);
+		assertEquals(1, index.indexOf("apple"));
+		assertEquals(0, index.indexOf("pear"));
+		assertEquals(6, index.indexOf("Pear"));
+		assertEquals(-1, index.indexOf("app"));
+		assertEquals(-1, index.indexOf("zucchini"));
+		assertEquals(-1, index.indexOf(""));
+	}
+	@Test
+	public void prefixLookups() {
+		TextIndex index = new TextIndex(FRUITS);
+		assertTrue(index.hasPrefix("pe"));
+		assertFalse(index.hasPrefix("ax"));
+		//string order: "peach" < "pear"
+		assertEquals(3, index.firstWithPrefix("pe"));
+		assertEquals(-1, index.firstWithPrefix("ax"));
+		assertEquals(1, index.firstWithPrefix("ap"));
+	}
+	@Test
+	public void countLookups() {
+		TextIndex index = new TextIndex(FRUITS);
+		assertEquals(3, index.countWithPrefix("p"));
+		assertEquals(2, index.countWithPrefix("apple"));
+		assertEquals(0, index.countWithPrefix("q"));
+		assertEquals(FRUITS.length, index.countWithPrefix(""));
+	}
+	@Test
+	public void ignoreCaseLookups() {
+		TextIndex index = new TextIndex(FRUITS, true);
+		assertTrue(index.isIgnoringCase());
+		assertEquals(0, index.indexOf("PEAR"));
+		assertEquals(1, index.firstWithPrefix("AP"));
+		assertEquals(3, index.countWithPrefix("aP"));
+		assertEquals(4, index.countWithPrefix("P"));
+	}
+	@Test
+	public void bigIndexMatchesLinearSearch() {
+		Random random = new Random(13);
+		String[] elements = new String[5000];
+		for(int i = 0; i < elements.length; i++)
+			elements[i] = Integer.toString(random.nextInt(2000), 36);
+		TextIndex index = new TextIndex(elements);
+		for(int n = 0; n < 2000; n++){
+			String text = Integer.toString(n, 36);
+			int first = -1, count = 0;
+			for(int i = 0; i < elements.length; i++){
+				if(first < 0 && elements[i].equals(text))
+					first = i;
+				if(elements[i].startsWith(text))
+					count++;
+			}
+			assertEquals(text, first, index.indexOf(text));
+			assertEquals(text, count, index.countWithPrefix(text));
+		}
+	}
+}
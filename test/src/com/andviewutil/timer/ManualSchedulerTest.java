@@ -0,0 +1,125 @@
+//	LICENSE:
+//	ManualSchedulerTest.java is part of AndViewUtil.
+//
+//	AndViewUtil is free software: you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation, either version 3 of the License, or
+//	(at your option) any later version.
+//
+//	AndViewUtil is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with AndViewUtil.  If not, see <http://www.gnu.org/licenses/>.
+package com.andviewutil.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Order and time of the tasks run by ManualScheduler.
+ * @author GuillermoBlascoJimenez
+ */
+public class ManualSchedulerTest {
+
+	private ManualScheduler scheduler;
+	private StringBuilder log;
+
+	@Before
+	public void setUp() {
+		scheduler = new ManualScheduler(1000);
+		log = new StringBuilder();
+	}
+	@Test
+	public void advanceByRunsTasksInTimeOrder() {
+		scheduler.schedule(new Logged("C"), 30);
+		scheduler.schedule(new Logged("A"), 10);
+		scheduler.schedule(new Logged("B"), 20);
+		assertEquals(3, scheduler.getPendingTasks());
+		assertEquals(1010, scheduler.getNextTaskTime());
+		assertEquals(3, scheduler.advanceBy(30));
+		assertEquals("A@1010 B@1020 C@1030 ", log.toString());
+		assertEquals(1030, scheduler.uptimeMillis());
+		assertEquals(0, scheduler.getPendingTasks());
+		assertEquals(Long.MAX_VALUE, scheduler.getNextTaskTime());
+	}
+	@Test
+	public void tasksOfTheSameTimeRunInScheduleOrder() {
+		for(int i = 0; i < 5; i++)
+			scheduler.schedule(new Logged(Integer.toString(i)), 10);
+		scheduler.advanceBy(10);
+		assertEquals("0@1010 1@1010 2@1010 3@1010 4@1010 ", log.toString());
+	}
+	@Test
+	public void advanceStopsBeforeTasksNotDue() {
+		scheduler.schedule(new Logged("A"), 10);
+		scheduler.schedule(new Logged("B"), 11);
+		assertEquals(0, scheduler.advanceBy(9));
+		assertEquals(1009, scheduler.uptimeMillis());
+		assertEquals(1, scheduler.advanceBy(1));
+		assertEquals("A@1010 ", log.toString());
+		assertEquals(1, scheduler.getPendingTasks());
+		assertEquals(1011, scheduler.getNextTaskTime());
+	}
+	@Test
+	public void tasksScheduledWhileAdvancingRunIfDue() {
+		scheduler.schedule(new Runnable() {
+			public void run() {
+				log.append("A@").append(scheduler.uptimeMillis()).append(' ');
+				scheduler.schedule(new Logged("B"), 5);
+				scheduler.schedule(new Logged("C"), 50);
+			}
+		}, 10);
+		assertEquals(2, scheduler.advanceBy(20));
+		assertEquals("A@1010 B@1015 ", log.toString());
+		assertEquals(1020, scheduler.uptimeMillis());
+		assertEquals(1060, scheduler.getNextTaskTime());
+	}
+	@Test
+	public void cancelledTaskIsNotRun() {
+		ScheduledTask a = scheduler.schedule(new Logged("A"), 10);
+		scheduler.schedule(new Logged("B"), 20);
+		assertTrue(a.cancel());
+		assertFalse(a.cancel());
+		assertEquals(1, scheduler.getPendingTasks());
+		assertEquals(1020, scheduler.getNextTaskTime());
+		assertEquals(1, scheduler.advanceBy(20));
+		assertEquals("B@1020 ", log.toString());
+	}
+	@Test
+	public void runTaskCannotBeCancelled() {
+		ScheduledTask a = scheduler.schedule(new Logged("A"), 0);
+		assertEquals(1, scheduler.runDue());
+		assertFalse(a.cancel());
+		assertEquals(1000, scheduler.uptimeMillis());
+	}
+	@Test
+	public void timeNeverGoesBack() {
+		scheduler.schedule(new Logged("A"), -5);
+		assertEquals(0, scheduler.advanceTo(500));
+		assertEquals(1000, scheduler.uptimeMillis());
+		assertEquals(1, scheduler.runDue());
+		assertEquals("A@1000 ", log.toString());
+		assertEquals(1000, scheduler.uptimeMillis());
+	}
+
+	// PRIVATE CLASSES
+
+	/*appends its name and the time it is run at*/
+	private class Logged implements Runnable {
+		private final String name;
+
+		Logged(String name){
+			this.name = name;
+		}
+		public void run() {
+			log.append(name).append('@').append(scheduler.uptimeMillis()).append(' ');
+		}
+	}
+}